@@ -0,0 +1,22 @@
+package com.codewithme.backend.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Recorded Space Devs payloads shared with the unit tests (src/test/resources/fixtures).
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static byte[] read(String name) throws IOException {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + name + ".json");
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.codewithme.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, e.g. one kept from main and one from a
+ * branch: {@code mvn -P benchmark test -Djmh.baseline=../jmh-main.json}.
+ * Prints score and allocation per operation side by side for the benchmarks
+ * of the current run, marking changes larger than the two runs' combined error.
+ */
+public final class JmhResultDiff {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private JmhResultDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args[0].isBlank()) {
+            System.out.println("No jmh.baseline given, skipping comparison");
+            return;
+        }
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        if (!baselineFile.isFile() || !currentFile.isFile()) {
+            System.out.println("Cannot compare " + baselineFile + " with " + currentFile + ": missing result file");
+            return;
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(objectMapper.readTree(currentFile));
+
+        System.out.printf("%-80s %14s %14s %9s %12s %12s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Alloc before", "Alloc after");
+        current.forEach((name, run) -> {
+            JsonNode before = baseline.get(name);
+            JsonNode score = run.path("primaryMetric");
+            String unit = score.path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14s %9s%n", name, "-", format(score, unit), "new");
+                return;
+            }
+            JsonNode beforeScore = before.path("primaryMetric");
+            double change = percentChange(beforeScore.path("score").asDouble(), score.path("score").asDouble());
+            boolean significant = Math.abs(score.path("score").asDouble() - beforeScore.path("score").asDouble())
+                    > errorOf(score) + errorOf(beforeScore);
+            System.out.printf("%-80s %14s %14s %8.1f%%%s %12s %12s%n", name, format(beforeScore, unit),
+                    format(score, unit), change, significant ? "*" : " ",
+                    allocation(before), allocation(run));
+        });
+        System.out.println("* change exceeds the combined 99.9% error of both runs");
+    }
+
+    // Keyed by benchmark method plus its @Param values, so parameterized runs line up
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        for (JsonNode run : results) {
+            String name = run.path("benchmark").asText().replace("com.codewithme.backend.benchmark.", "");
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            runs.put(params.isEmpty() ? name : name + params, run);
+        }
+        return runs;
+    }
+
+    private static String format(JsonNode metric, String unit) {
+        return String.format("%.3f %s", metric.path("score").asDouble(), unit);
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static String allocation(JsonNode run) {
+        JsonNode metric = run.path("secondaryMetrics").path(ALLOCATION);
+        return metric.isMissingNode() ? "-" : String.format("%.0f B/op", metric.path("score").asDouble());
+    }
+}
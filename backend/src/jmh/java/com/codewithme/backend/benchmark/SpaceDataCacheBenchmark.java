@@ -0,0 +1,81 @@
+package com.codewithme.backend.benchmark;
+
+import com.codewithme.backend.service.SpaceCacheProperties;
+import com.codewithme.backend.service.SpaceDataCache;
+import com.codewithme.backend.service.SpaceDataResult;
+import com.codewithme.backend.service.SpaceJsonParser;
+import com.codewithme.backend.service.SpaceResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link SpaceDataCache} under contention: eight threads reading fresh entries,
+ * alone and while one of them keeps replacing entries the way a refresh or a
+ * miss does (store includes computing the ETag). Keys are spread over
+ * {@link #KEYS} launch-detail entries holding the recorded launch-details payload.
+ * Contention only shows on a machine with at least eight cores; with fewer the
+ * threads mostly measure the scheduler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpaceDataCacheBenchmark {
+
+    private static final int KEYS = 1024;
+    private static final SpaceResource RESOURCE = SpaceResource.LAUNCH_DETAILS;
+
+    private SpaceDataCache cache;
+    private String[] keys;
+    private Supplier<Object> loader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Object details = new SpaceJsonParser(objectMapper).parse(Fixtures.read("launch-details"));
+        loader = () -> details;
+        cache = new SpaceDataCache(new SpaceCacheProperties(), new SimpleMeterRegistry(), objectMapper);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = RESOURCE.getKey() + ":" + i;
+            cache.refresh(RESOURCE, keys[i], loader);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.shutdown();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SpaceDataResult getHit() {
+        return cache.get(RESOURCE, randomKey(), loader);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(7)
+    public SpaceDataResult readWriteGet() {
+        return cache.get(RESOURCE, randomKey(), loader);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public SpaceDataResult readWritePut() {
+        return cache.refresh(RESOURCE, randomKey(), loader);
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+}
@@ -0,0 +1,79 @@
+package com.codewithme.backend.benchmark;
+
+import com.codewithme.backend.service.SpaceJsonParser;
+import com.codewithme.dto.AgencySummary;
+import com.codewithme.dto.AstronautSummary;
+import com.codewithme.dto.LaunchSummary;
+import com.codewithme.dto.ProgramSummary;
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Untyped (Object.class, as the proxy endpoints decode upstream bodies) versus
+ * typed streaming parse of the recorded Space Devs list pages. Run with
+ * {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpaceJsonParserBenchmark {
+
+    private static final Map<String, Class<?>> SUMMARY_TYPES = Map.of(
+            "launches-upcoming", LaunchSummary.class,
+            "astronauts", AstronautSummary.class,
+            "agencies", AgencySummary.class,
+            "programs", ProgramSummary.class);
+
+    @Param({"launches-upcoming", "astronauts", "agencies", "programs"})
+    public String fixture;
+
+    private ObjectMapper objectMapper;
+    private SpaceJsonParser parser;
+    private Class<?> summaryType;
+    private byte[] page;
+    private Object untypedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        parser = new SpaceJsonParser(objectMapper);
+        summaryType = SUMMARY_TYPES.get(fixture);
+        page = Fixtures.read(fixture);
+        untypedPage = parser.parse(page);
+    }
+
+    @Benchmark
+    public Object parseUntyped() throws IOException {
+        return parser.parse(page);
+    }
+
+    @Benchmark
+    public SpacePage<?> parseTyped() throws IOException {
+        return parser.parsePage(page, summaryType);
+    }
+
+    // Mirrored pages are stored untyped and converted when lists are served typed
+    @Benchmark
+    public SpacePage<?> convertUntypedToTyped() throws IOException {
+        return parser.convertPage(untypedPage, summaryType);
+    }
+
+    // Parse plus the controller's re-serialization, the full per-request cost on a miss
+    @Benchmark
+    public byte[] roundTripUntyped() throws IOException {
+        return objectMapper.writeValueAsBytes(parser.parse(page));
+    }
+
+    @Benchmark
+    public byte[] roundTripTyped() throws IOException {
+        return objectMapper.writeValueAsBytes(parser.parsePage(page, summaryType));
+    }
+}
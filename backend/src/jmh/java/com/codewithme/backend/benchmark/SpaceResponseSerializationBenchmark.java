@@ -0,0 +1,98 @@
+package com.codewithme.backend.benchmark;
+
+import com.codewithme.backend.Controller.SpaceResponseRenderer;
+import com.codewithme.backend.service.SpaceDataResult;
+import com.codewithme.backend.service.SpaceFieldProjection;
+import com.codewithme.backend.service.SpaceJsonParser;
+import com.codewithme.backend.service.SpaceResource;
+import com.codewithme.backend.service.SpaceResponseBodyCache;
+import com.codewithme.backend.service.SpaceResponseCacheProperties;
+import com.codewithme.dto.LaunchSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@code GET /api/launches/upcoming} costs once the page is cached: the
+ * renderer's projection plus Jackson writing the body through Spring's message
+ * converter, for untyped and typed pages, against the pre-serialized bytes of
+ * {@link SpaceResponseBodyCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpaceResponseSerializationBenchmark {
+
+    private static final SpaceResource RESOURCE = SpaceResource.UPCOMING_LAUNCHES;
+
+    @Param({SpaceFieldProjection.VIEW_COMPACT, SpaceFieldProjection.VIEW_FULL})
+    public String view;
+
+    private MappingJackson2HttpMessageConverter converter;
+    private SpaceResponseRenderer renderer;
+    private SpaceResponseRenderer cachingRenderer;
+    private SpaceDataResult untypedPage;
+    private SpaceDataResult typedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SpaceJsonParser parser = new SpaceJsonParser(objectMapper);
+        SpaceFieldProjection projection = new SpaceFieldProjection(objectMapper);
+        converter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+        SpaceResponseCacheProperties disabled = new SpaceResponseCacheProperties();
+        renderer = new SpaceResponseRenderer(projection,
+                new SpaceResponseBodyCache(disabled, objectMapper, new SimpleMeterRegistry()));
+        SpaceResponseCacheProperties enabled = new SpaceResponseCacheProperties();
+        enabled.setEnabled(true);
+        cachingRenderer = new SpaceResponseRenderer(projection,
+                new SpaceResponseBodyCache(enabled, objectMapper, new SimpleMeterRegistry()));
+
+        byte[] page = Fixtures.read("launches-upcoming");
+        Instant fetchedAt = Instant.now();
+        untypedPage = new SpaceDataResult(parser.parse(page), fetchedAt, Duration.ZERO, "\"untyped\"");
+        typedPage = new SpaceDataResult(parser.parsePage(page, LaunchSummary.class), fetchedAt,
+                Duration.ZERO, "\"typed\"");
+        // Warm the byte cache so cachedBody measures the hit path
+        cachingRenderer.list(RESOURCE, untypedPage, null, view, null, null);
+    }
+
+    @Benchmark
+    public byte[] untyped() throws IOException {
+        return write(renderer.list(RESOURCE, untypedPage, null, view, null, null));
+    }
+
+    @Benchmark
+    public byte[] typed() throws IOException {
+        return write(renderer.list(RESOURCE, typedPage, null, view, null, null));
+    }
+
+    @Benchmark
+    public Object cachedBody() {
+        return cachingRenderer.list(RESOURCE, untypedPage, null, view, null, null).getBody();
+    }
+
+    @Benchmark
+    public Object cachedBodyGzip() {
+        return cachingRenderer.list(RESOURCE, untypedPage, null, view, "gzip", null).getBody();
+    }
+
+    private byte[] write(ResponseEntity<?> response) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(response.getBody(), MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,205 @@
+package com.codewithme.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+/**
+ * Time to first request of the packaged backend, each run in a fresh JVM:
+ * {@code mvn -P benchmark,fast-startup verify -Djmh.skip=true}.
+ *
+ * Measured from process launch to the first 2xx from {@code startup.path}
+ * (default {@code /health}, which needs neither the database nor the upstream),
+ * next to the "Started ... in" time Spring Boot logs. Variants:
+ * <ul>
+ *   <li>{@code default}: {@code java -jar}, as the regular image runs it</li>
+ *   <li>{@code profile}: plus the {@code fast-startup} Spring profile (lazy beans, no schema work)</li>
+ *   <li>{@code fast-startup}: plus the AOT-processed context, when the jar has one, and a CDS archive
+ *       created by an untimed training run first</li>
+ * </ul>
+ * The backend inherits this process's environment, so point {@code SPRING_DATASOURCE_*}
+ * at a database whose schema is in place; {@code default} applies it itself.
+ * Results are printed and written as JSON to the second argument.
+ */
+public final class StartupBenchmark {
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final String AOT_INITIALIZER =
+            "com/codewithme/backend/BackendApplication__ApplicationContextInitializer.class";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path result = Path.of(args[1]);
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18090);
+        Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 180));
+        List<String> variants = Arrays.asList(System.getProperty("startup.variants", "default,profile,fast-startup")
+                .split(","));
+        Path work = result.toAbsolutePath().getParent().resolve("startup");
+        Files.createDirectories(work);
+        URI uri = URI.create("http://localhost:" + port + System.getProperty("startup.path", "/health"));
+
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        for (String variant : variants) {
+            List<String> command = command(variant.trim(), jar, work, port);
+            if (command == null) {
+                continue;
+            }
+            List<Long> firstRequest = new ArrayList<>();
+            List<Long> started = new ArrayList<>();
+            int failures = 0;
+            for (int run = 1; run <= runs; run++) {
+                Path log = work.resolve(variant + "-" + run + ".log");
+                long[] timings = launch(command, log, uri, timeout);
+                if (timings == null) {
+                    failures++;
+                    System.out.println(variant + " run " + run + " did not answer " + uri + ", see " + log);
+                    continue;
+                }
+                firstRequest.add(timings[0]);
+                if (timings[1] >= 0) {
+                    started.add(timings[1]);
+                }
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("command", String.join(" ", command));
+            summary.put("runs", runs);
+            summary.put("failures", failures);
+            summary.put("firstRequestMillis", stats(firstRequest));
+            summary.put("startedMillis", stats(started));
+            report.put(variant, summary);
+        }
+
+        System.out.printf("%-14s %28s %28s %9s%n", "Variant", "First request ms (p50/min/max)",
+                "Started in ms (p50/min/max)", "Failures");
+        report.forEach((variant, summary) -> System.out.printf("%-14s %28s %28s %9s%n", variant,
+                format(summary.get("firstRequestMillis")), format(summary.get("startedMillis")),
+                summary.get("failures") + "/" + summary.get("runs")));
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(result.toFile(), report);
+        System.out.println("Startup results written to " + result);
+    }
+
+    private static List<String> command(String variant, Path jar, Path work, int port) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> arguments = List.of("-jar", jar.toString(), "--server.port=" + port,
+                // Runs must not restore or leave behind a snapshot that would make later runs differ
+                "--space.snapshot.enabled=false");
+        List<String> command = new ArrayList<>(List.of(java));
+        switch (variant) {
+            case "default" -> {
+            }
+            case "profile" -> command.add("-Dspring.profiles.active=fast-startup");
+            case "fast-startup" -> {
+                command.add("-Dspring.profiles.active=fast-startup");
+                if (hasAotInitializer(jar)) {
+                    command.add("-Dspring.aot.enabled=true");
+                } else {
+                    System.out.println(jar + " was built without -P fast-startup, measuring CDS without AOT");
+                }
+                Path archive = work.resolve("app.jsa");
+                train(command, arguments, archive, work.resolve("training.log"));
+                command.add("-XX:SharedArchiveFile=" + archive);
+            }
+            default -> {
+                System.out.println("Unknown startup variant " + variant + ", skipping it");
+                return null;
+            }
+        }
+        command.addAll(arguments);
+        return command;
+    }
+
+    // Starts the context without serving and dumps the classes loaded meanwhile, as Dockerfile.fast-startup does
+    private static void train(List<String> command, List<String> arguments, Path archive, Path log) throws Exception {
+        Files.deleteIfExists(archive);
+        List<String> training = new ArrayList<>(command);
+        training.add("-XX:ArchiveClassesAtExit=" + archive);
+        training.add("-Dspring.context.exit=onRefresh");
+        training.addAll(arguments);
+        Process process = new ProcessBuilder(training).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (!process.waitFor(10, TimeUnit.MINUTES) || !Files.isRegularFile(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run failed, see " + log);
+        }
+    }
+
+    /**
+     * Milliseconds to the first 2xx and, when logged, Spring Boot's own startup
+     * time (-1 if not); null when the backend exited or never answered.
+     */
+    private static long[] launch(List<String> command, Path log, URI uri, Duration timeout) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = launched + timeout.toNanos();
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 200 && status < 300) {
+                        long firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+                        return new long[]{firstRequest, startedMillis(log)};
+                    }
+                } catch (ConnectException | HttpTimeoutException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            return null;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long startedMillis(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    private static boolean hasAotInitializer(Path jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            return zip.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static Map<String, Long> stats(List<Long> samples) {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        if (samples.isEmpty()) {
+            return stats;
+        }
+        List<Long> sorted = samples.stream().sorted().toList();
+        stats.put("p50", sorted.get(sorted.size() / 2));
+        stats.put("min", sorted.get(0));
+        stats.put("max", sorted.get(sorted.size() - 1));
+        return stats;
+    }
+
+    private static String format(Object stats) {
+        Map<?, ?> values = (Map<?, ?>) stats;
+        return values.isEmpty() ? "-" : values.get("p50") + " / " + values.get("min") + " / " + values.get("max");
+    }
+}
@@ -0,0 +1,88 @@
+package com.codewithme.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds the requests of each {@link TrafficType} against a running backend,
+ * shaped like the frontend's: first-page list views with gzip accepted, launch
+ * details for known ids, logins for pre-registered users and signups with
+ * fresh emails.
+ */
+public class BackendTraffic {
+    public static final String PASSWORD = "load-test-password";
+
+    private static final List<String> LIST_PATHS = List.of(
+            "/api/space/launches?type=upcoming&limit=20",
+            "/api/space/launches?type=upcoming&limit=20",
+            "/api/space/launches?type=previous&limit=20",
+            "/api/space/astronauts?limit=20",
+            "/api/space/agencies?limit=20",
+            "/api/space/programs?limit=20");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final List<String> launchIds;
+    private final List<String> users;
+
+    public BackendTraffic(String baseUrl, List<String> launchIds, List<String> users) {
+        this.baseUrl = baseUrl;
+        this.launchIds = launchIds;
+        this.users = users;
+    }
+
+    public HttpRequest next(TrafficType type) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (type) {
+            case LIST -> get(LIST_PATHS.get(random.nextInt(LIST_PATHS.size())));
+            case DETAIL -> get("/api/space/launches/" + launchIds.get(random.nextInt(launchIds.size())));
+            case LOGIN -> credentials("/api/login", users.get(random.nextInt(users.size())));
+            case SIGNUP -> signup(UUID.randomUUID().toString());
+        };
+    }
+
+    public HttpRequest signup(String user) {
+        return credentials("/api/signup", email(user));
+    }
+
+    public static String email(String user) {
+        return "load-" + user + "@example.test";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest credentials(String path, String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Picks traffic types at random in proportion to the scenario's weights.
+     */
+    public static TrafficType pick(Map<TrafficType, Integer> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<TrafficType, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix weights do not add up to " + totalWeight);
+    }
+}
@@ -0,0 +1,147 @@
+package com.codewithme.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome per {@link TrafficType} for one scenario. Latency runs
+ * from each request's scheduled start, not from when it was sent, so time a
+ * request spent waiting behind slow ones is counted (no coordinated omission).
+ * Anything other than a 2xx counts as an error; outcomes are keyed by status
+ * code, or by "timeout", "io_error" and "dropped" (over loadtest.max-in-flight).
+ */
+public class LoadReport {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final LoadScenario scenario;
+    private final Map<TrafficType, Histogram> latencies = new EnumMap<>(TrafficType.class);
+    private final Map<TrafficType, Map<String, LongAdder>> outcomes = new EnumMap<>(TrafficType.class);
+
+    public LoadReport(LoadScenario scenario) {
+        this.scenario = scenario;
+        for (TrafficType type : TrafficType.values()) {
+            latencies.put(type, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            outcomes.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void record(TrafficType type, long scheduledNanos, long completedNanos, int status, Throwable error) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(completedNanos - scheduledNanos);
+        latencies.get(type).recordValue(Math.min(Math.max(micros, 0), MAX_LATENCY_MICROS));
+        outcome(type, error == null ? String.valueOf(status) : error instanceof HttpTimeoutException
+                || error.getCause() instanceof HttpTimeoutException ? "timeout" : "io_error");
+    }
+
+    public void dropped(TrafficType type) {
+        outcome(type, "dropped");
+    }
+
+    public long requests(TrafficType type) {
+        return outcomes.get(type).values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long errors(TrafficType type) {
+        return outcomes.get(type).entrySet().stream()
+                .filter(outcome -> !outcome.getKey().startsWith("2"))
+                .mapToLong(outcome -> outcome.getValue().sum())
+                .sum();
+    }
+
+    public double errorRate(TrafficType type) {
+        long requests = requests(type);
+        return requests == 0 ? 0 : (double) errors(type) / requests;
+    }
+
+    public Duration percentile(TrafficType type, double percentile) {
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencies.get(type).getValueAtPercentile(percentile)));
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nScenario %s: %d req/s for %ds, upstream %s%n", scenario.name(), scenario.ratePerSecond(),
+                scenario.duration().toSeconds(), scenario.faults());
+        out.printf("%-8s %9s %10s %10s %10s %10s %10s %8s  %s%n",
+                "type", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "outcomes");
+        for (TrafficType type : TrafficType.values()) {
+            if (requests(type) == 0) {
+                continue;
+            }
+            Histogram histogram = latencies.get(type);
+            out.printf("%-8s %9d %10.1f %10.2f %10.2f %10.2f %10.2f %7.2f%%  %s%n", type.name().toLowerCase(),
+                    requests(type), throughput(type), millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()), errorRate(type) * 100, outcomeCounts(type));
+        }
+    }
+
+    /**
+     * Writes the report as JSON to {@code <directory>/<scenario>.json}, for
+     * comparing runs between commits.
+     */
+    public Path write(Path directory) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.name());
+        report.put("ratePerSecond", scenario.ratePerSecond());
+        report.put("durationSeconds", scenario.duration().toSeconds());
+        report.put("mix", scenario.mix());
+        report.put("upstream", scenario.faults());
+        Map<String, Object> types = new LinkedHashMap<>();
+        for (TrafficType type : TrafficType.values()) {
+            Histogram histogram = latencies.get(type);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", requests(type));
+            stats.put("throughputPerSecond", throughput(type));
+            stats.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+            stats.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+            stats.put("p999Millis", millis(histogram.getValueAtPercentile(99.9)));
+            stats.put("maxMillis", millis(histogram.getMaxValue()));
+            stats.put("errorRate", errorRate(type));
+            stats.put("outcomes", outcomeCounts(type));
+            types.put(type.name().toLowerCase(), stats);
+        }
+        report.put("types", types);
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario.name() + ".json");
+        new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private void outcome(TrafficType type, String outcome) {
+        outcomes.get(type).computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    private Map<String, Long> outcomeCounts(TrafficType type) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.get(type).forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    private double throughput(TrafficType type) {
+        return (double) (requests(type) - outcomes.get(type).getOrDefault("dropped", new LongAdder()).sum())
+                / Math.max(1, scenario.duration().toSeconds());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
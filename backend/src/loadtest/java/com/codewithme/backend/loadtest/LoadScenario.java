@@ -0,0 +1,68 @@
+package com.codewithme.backend.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One load run: requests start at a fixed {@code ratePerSecond} whatever the
+ * backend's response times (an open model, so a slow backend gets queued work
+ * rather than fewer requests), split between {@link TrafficType}s by
+ * {@code mix} weight. Requests during {@code warmup} are sent but not reported.
+ */
+public record LoadScenario(String name, int ratePerSecond, Duration warmup, Duration duration,
+                           Map<TrafficType, Integer> mix, UpstreamFaults faults, int maxInFlight) {
+
+    public static final Map<TrafficType, Integer> DEFAULT_MIX = Map.of(
+            TrafficType.LIST, 70,
+            TrafficType.DETAIL, 20,
+            TrafficType.LOGIN, 8,
+            TrafficType.SIGNUP, 2);
+
+    /**
+     * The scenario {@code name} with any of {@code loadtest.rate},
+     * {@code loadtest.warmup}, {@code loadtest.duration}, {@code loadtest.mix}
+     * (e.g. {@code list=70,detail=20,login=8,signup=2}), {@code loadtest.max-in-flight}
+     * and {@code loadtest.<name>.upstream.*} (see {@link UpstreamFaults}) overridden.
+     */
+    public static LoadScenario fromSystemProperties(String name, UpstreamFaults defaultFaults) {
+        return new LoadScenario(name,
+                Integer.getInteger("loadtest.rate", 100),
+                duration("loadtest.warmup", Duration.ofSeconds(10)),
+                duration("loadtest.duration", Duration.ofSeconds(30)),
+                mixFromSystemProperties(),
+                UpstreamFaults.fromSystemProperties("loadtest." + name + ".upstream", defaultFaults),
+                Integer.getInteger("loadtest.max-in-flight", 1000));
+    }
+
+    static Duration duration(String property, Duration defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        // Same shorthand as application.properties: 500ms, 30s, 2m
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration '" + value + "' for " + property);
+        };
+    }
+
+    public static Map<TrafficType, Integer> mixFromSystemProperties() {
+        String value = System.getProperty("loadtest.mix");
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MIX;
+        }
+        Map<TrafficType, Integer> mix = new EnumMap<>(TrafficType.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            mix.put(TrafficType.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
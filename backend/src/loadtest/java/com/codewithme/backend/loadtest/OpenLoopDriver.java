@@ -0,0 +1,80 @@
+package com.codewithme.backend.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests on a fixed schedule, one every {@code 1/rate} seconds, and
+ * records each into a {@link LoadReport} when it completes. Requests never
+ * wait for earlier ones; past {@code maxInFlight} outstanding requests new
+ * ones are counted as dropped instead of sent.
+ */
+public class OpenLoopDriver implements AutoCloseable {
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+
+    public LoadReport run(LoadScenario scenario, BackendTraffic traffic) throws InterruptedException {
+        LoadReport report = new LoadReport(scenario);
+        int totalWeight = scenario.mix().values().stream().mapToInt(Integer::intValue).sum();
+        long interval = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        Semaphore inFlight = new Semaphore(scenario.maxInFlight());
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            TrafficType type = BackendTraffic.pick(scenario.mix(), totalWeight);
+            boolean measured = scheduled >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.dropped(type);
+                }
+                continue;
+            }
+            client.sendAsync(traffic.next(type), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        if (measured) {
+                            report.record(type, scheduled, System.nanoTime(),
+                                    response != null ? response.statusCode() : 0, error);
+                        }
+                    });
+        }
+
+        // Let the last requests finish so their latencies are counted
+        if (inFlight.tryAcquire(scenario.maxInFlight(), 1, TimeUnit.MINUTES)) {
+            inFlight.release(scenario.maxInFlight());
+        }
+        return report;
+    }
+
+    // Blocking request for setup, outside any scenario
+    public int send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
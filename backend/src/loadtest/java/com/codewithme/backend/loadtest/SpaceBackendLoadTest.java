@@ -0,0 +1,124 @@
+package com.codewithme.backend.loadtest;
+
+import com.codewithme.backend.service.SpaceDataCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the whole backend, on a random port and a Testcontainers Postgres,
+ * against {@link UpstreamStandIn}.
+ * Run with {@code mvn -P loadtest test}; see {@link LoadScenario} and
+ * {@link UpstreamFaults} for the {@code -Dloadtest.*} knobs. Reports are printed
+ * and written to target/loadtest/<scenario>.json.
+ *
+ * A scenario fails when any traffic type's error rate exceeds
+ * {@code loadtest.<scenario>.max-error-rate} or its p99 exceeds
+ * {@code loadtest.<scenario>.max-p99} (no latency limit unless set).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SpaceBackendLoadTest {
+    private static final int USERS = 20;
+    private static final UpstreamStandIn upstream = startUpstream();
+    private static final OpenLoopDriver driver = new OpenLoopDriver();
+    private static final List<String> users = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SpaceDataCache spaceDataCache;
+
+    private BackendTraffic traffic;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("space.api.base-url", upstream::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        traffic = new BackendTraffic("http://localhost:" + port, upstream.launchIds(), users);
+        // Accounts for login traffic, registered once per JVM
+        while (LoadScenario.mixFromSystemProperties().containsKey(TrafficType.LOGIN) && users.size() < USERS) {
+            String user = "user" + users.size();
+            assertEquals(200, driver.send(traffic.signup(user)), "registering " + user);
+            users.add(BackendTraffic.email(user));
+        }
+        // Each scenario starts cold, so its upstream behaviour shapes the misses
+        spaceDataCache.invalidateAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        driver.close();
+        upstream.close();
+    }
+
+    @Test
+    @Order(1)
+    void healthyUpstream() throws Exception {
+        run(LoadScenario.fromSystemProperties("healthy",
+                new UpstreamFaults(Duration.ofMillis(50), Duration.ofMillis(50), 0, 0, Duration.ZERO)), 0.01);
+    }
+
+    // Slow, jittery upstream answering 10% of calls with 429 and letting 5% time out
+    @Test
+    @Order(2)
+    void degradedUpstream() throws Exception {
+        run(LoadScenario.fromSystemProperties("degraded",
+                new UpstreamFaults(Duration.ofMillis(300), Duration.ofMillis(700), 0.10, 0.05, Duration.ofSeconds(12))),
+                1.0);
+    }
+
+    private void run(LoadScenario scenario, double defaultMaxErrorRate) throws Exception {
+        upstream.setFaults(scenario.faults());
+        LoadReport report = driver.run(scenario, traffic);
+        report.print(System.out);
+        Path file = report.write(Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")));
+        System.out.println("Report written to " + file);
+
+        double maxErrorRate = Double.parseDouble(System.getProperty(
+                "loadtest." + scenario.name() + ".max-error-rate", String.valueOf(defaultMaxErrorRate)));
+        Duration maxP99 = LoadScenario.duration("loadtest." + scenario.name() + ".max-p99", null);
+        for (TrafficType type : scenario.mix().keySet()) {
+            assertTrue(report.errorRate(type) <= maxErrorRate,
+                    () -> type + " error rate " + report.errorRate(type) + " above " + maxErrorRate);
+            if (maxP99 != null) {
+                assertTrue(report.percentile(type, 99).compareTo(maxP99) <= 0,
+                        () -> type + " p99 " + report.percentile(type, 99).toMillis() + "ms above " + maxP99);
+            }
+        }
+    }
+
+    private static UpstreamStandIn startUpstream() {
+        try {
+            UpstreamStandIn standIn = new UpstreamStandIn();
+            standIn.start();
+            return standIn;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
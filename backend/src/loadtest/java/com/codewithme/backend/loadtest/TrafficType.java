@@ -0,0 +1,15 @@
+package com.codewithme.backend.loadtest;
+
+/**
+ * The kinds of request a load scenario mixes, each reported separately.
+ */
+public enum TrafficType {
+    // A page of launches, astronauts, agencies or programs, as the list views fetch it
+    LIST,
+    // One launch by id
+    DETAIL,
+    // A correct login for a pre-registered user
+    LOGIN,
+    // A new account with a fresh email
+    SIGNUP
+}
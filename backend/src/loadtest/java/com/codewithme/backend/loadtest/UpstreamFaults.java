@@ -0,0 +1,38 @@
+package com.codewithme.backend.loadtest;
+
+import java.time.Duration;
+
+/**
+ * How the upstream stand-in misbehaves: every response is delayed by
+ * {@code latency} plus a uniform random share of {@code jitter}; a
+ * {@code throttledRatio} share of requests gets a 429 and a
+ * {@code timeoutRatio} share is held for {@code timeoutDelay}, longer than the
+ * backend's read timeout.
+ */
+public record UpstreamFaults(Duration latency, Duration jitter, double throttledRatio, double timeoutRatio,
+                             Duration timeoutDelay) {
+
+    public static final UpstreamFaults NONE =
+            new UpstreamFaults(Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO);
+
+    public UpstreamFaults {
+        if (throttledRatio < 0 || timeoutRatio < 0 || throttledRatio + timeoutRatio > 1) {
+            throw new IllegalArgumentException("Fault ratios must be between 0 and 1 in total");
+        }
+    }
+
+    /**
+     * Reads {@code <prefix>.latency}, {@code .jitter}, {@code .throttled-ratio},
+     * {@code .timeout-ratio} and {@code .timeout-delay}, falling back to {@code defaults}.
+     */
+    public static UpstreamFaults fromSystemProperties(String prefix, UpstreamFaults defaults) {
+        return new UpstreamFaults(
+                LoadScenario.duration(prefix + ".latency", defaults.latency()),
+                LoadScenario.duration(prefix + ".jitter", defaults.jitter()),
+                Double.parseDouble(System.getProperty(prefix + ".throttled-ratio",
+                        String.valueOf(defaults.throttledRatio()))),
+                Double.parseDouble(System.getProperty(prefix + ".timeout-ratio",
+                        String.valueOf(defaults.timeoutRatio()))),
+                LoadScenario.duration(prefix + ".timeout-delay", defaults.timeoutDelay()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.codewithme.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * WireMock standing in for {@code lldev.thespacedevs.com}: serves the recorded
+ * fixtures from src/test/resources/fixtures for every list and detail path the
+ * backend calls, with the delays and failures of the current {@link UpstreamFaults}.
+ * Detail requests for astronauts, agencies and programs get the first record
+ * of the matching list fixture.
+ */
+public class UpstreamStandIn implements AutoCloseable {
+
+    private static final Map<String, String> LIST_FIXTURES = Map.of(
+            "launch", "launches-upcoming",
+            "launch/upcoming", "launches-upcoming",
+            "launch/previous", "launches-upcoming",
+            "astronaut", "astronauts",
+            "agencies", "agencies",
+            "program", "programs");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FaultInjector faults = new FaultInjector();
+    private final WireMockServer server;
+    private final List<String> launchIds = new ArrayList<>();
+
+    public UpstreamStandIn() throws IOException {
+        server = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(200)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(50)
+                .disableRequestJournal()
+                .extensions(faults));
+        stubFixtures();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Value for space.api.base-url
+    public String baseUrl() {
+        return server.baseUrl();
+    }
+
+    public void setFaults(UpstreamFaults upstreamFaults) {
+        faults.current = upstreamFaults;
+    }
+
+    // Ids of the launches in the recorded upcoming page, for detail traffic that hits known records
+    public List<String> launchIds() {
+        return launchIds;
+    }
+
+    public long requestCount() {
+        return faults.served.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+
+    private void stubFixtures() throws IOException {
+        for (Map.Entry<String, String> list : LIST_FIXTURES.entrySet()) {
+            byte[] page = fixture(list.getValue());
+            server.stubFor(get(urlPathEqualTo("/" + list.getKey() + "/")).willReturn(json(page)));
+        }
+        for (JsonNode launch : objectMapper.readTree(fixture("launches-upcoming")).path("results")) {
+            launchIds.add(launch.path("id").asText());
+        }
+        // Lower priority than the list stubs, which also match these patterns
+        server.stubFor(get(urlPathMatching("/launch/[^/]+/")).atPriority(10)
+                .willReturn(json(fixture("launch-details"))));
+        for (String resource : List.of("astronaut", "agencies", "program")) {
+            JsonNode first = objectMapper.readTree(fixture(LIST_FIXTURES.get(resource))).path("results").path(0);
+            server.stubFor(get(urlPathMatching("/" + resource + "/[^/]+/")).atPriority(10)
+                    .willReturn(json(objectMapper.writeValueAsBytes(first))));
+        }
+    }
+
+    private static ResponseDefinitionBuilder json(byte[] body) {
+        return aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody(body);
+    }
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = UpstreamStandIn.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + name + ".json");
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Applies the current faults to every stubbed response.
+     */
+    private static class FaultInjector implements ResponseDefinitionTransformerV2 {
+        private volatile UpstreamFaults current = UpstreamFaults.NONE;
+        private final AtomicLong served = new AtomicLong();
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            served.incrementAndGet();
+            UpstreamFaults faults = current;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < faults.throttledRatio()) {
+                return aResponse().withStatus(429).withHeader("Retry-After", "5")
+                        .withFixedDelay(delay(faults, random)).build();
+            }
+            if (roll < faults.throttledRatio() + faults.timeoutRatio()) {
+                return ResponseDefinitionBuilder.like(serveEvent.getResponseDefinition())
+                        .withFixedDelay((int) faults.timeoutDelay().toMillis()).build();
+            }
+            return ResponseDefinitionBuilder.like(serveEvent.getResponseDefinition())
+                    .withFixedDelay(delay(faults, random)).build();
+        }
+
+        private static int delay(UpstreamFaults faults, ThreadLocalRandom random) {
+            long jitter = faults.jitter().toMillis();
+            return (int) (faults.latency().toMillis() + (jitter > 0 ? random.nextLong(jitter + 1) : 0));
+        }
+
+        @Override
+        public String getName() {
+            return "upstream-faults";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.codewithme.backend.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codewithme.backend.service.LaunchStreamProperties;
+import com.codewithme.backend.service.LaunchUpdateStream;
+
+/**
+ * Server-Sent Events stream of changes to the upcoming launches, for the live
+ * launches view to use instead of polling {@code /api/space/launches?type=upcoming}.
+ * Serves both execution modes.
+ */
+@RestController
+@RequestMapping("/api/space")
+@CrossOrigin(origins = {"http://localhost:80", "http://localhost:5173", "http://localhost:3000", "http://localhost:8081", "http://127.0.0.1:80", "http://127.0.0.1:5173", "http://127.0.0.1:8081", "http://development-platform.local"}, allowCredentials = "true")
+public class LaunchStreamController {
+    private static final Logger logger = LoggerFactory.getLogger(LaunchStreamController.class);
+    private final LaunchUpdateStream launchUpdateStream;
+    private final LaunchStreamProperties properties;
+
+    @Autowired
+    public LaunchStreamController(LaunchUpdateStream launchUpdateStream, LaunchStreamProperties properties) {
+        this.launchUpdateStream = launchUpdateStream;
+        this.properties = properties;
+    }
+
+    @GetMapping("/launches/stream")
+    public ResponseEntity<SseEmitter> streamLaunches() {
+        SseEmitter emitter = launchUpdateStream.subscribe();
+        if (emitter == null) {
+            logger.warn("Launch stream refused: {} subscribers already connected", launchUpdateStream.subscriberCount());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getPollInterval().toSeconds()))
+                    .build();
+        }
+        // Keeps nginx from buffering the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+}
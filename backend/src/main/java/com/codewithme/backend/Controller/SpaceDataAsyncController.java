@@ -0,0 +1,208 @@
+package com.codewithme.backend.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codewithme.backend.service.SpaceBatchService;
+import com.codewithme.backend.service.SpaceDataResult;
+import com.codewithme.backend.service.SpaceDataService;
+import com.codewithme.backend.service.SpaceFieldProjection;
+import com.codewithme.backend.service.SpaceListCursor;
+import com.codewithme.backend.service.SpaceResource;
+import com.codewithme.backend.service.UpstreamUnavailableException;
+import com.codewithme.dto.SpaceBatchRequest;
+import com.codewithme.dto.SpaceBatchResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Same endpoints as {@link SpaceDataController}, enabled with
+ * {@code space.execution.mode=async}. Handlers return a future, so the Tomcat
+ * thread goes back to the pool while the upstream call is in flight and a slow
+ * upstream no longer caps concurrency at {@code server.tomcat.threads.max}.
+ */
+@RestController
+@ConditionalOnProperty(name = "space.execution.mode", havingValue = "async")
+@RequestMapping("/api/space")
+@CrossOrigin(origins = {"http://localhost:80", "http://localhost:5173", "http://localhost:3000", "http://localhost:8081", "http://127.0.0.1:80", "http://127.0.0.1:5173", "http://127.0.0.1:8081", "http://development-platform.local"}, allowCredentials = "true")
+public class SpaceDataAsyncController {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceDataAsyncController.class);
+    private final SpaceDataService spaceDataService;
+    private final SpaceBatchService spaceBatchService;
+    private final SpaceResponseRenderer renderer;
+
+    @Autowired
+    public SpaceDataAsyncController(SpaceDataService spaceDataService, SpaceBatchService spaceBatchService,
+                                    SpaceResponseRenderer renderer) {
+        this.spaceDataService = spaceDataService;
+        this.spaceBatchService = spaceBatchService;
+        this.renderer = renderer;
+        logger.info("SpaceDataAsyncController initialized");
+    }
+
+    @GetMapping("/test")
+    public ResponseEntity<?> testEndpoint() {
+        return ResponseEntity.ok("API is working");
+    }
+
+    @GetMapping("/launches")
+    public CompletableFuture<ResponseEntity<?>> getLaunches(
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/launches called with type={}, limit={}, offset={}", type, limit, offset);
+        SpaceResource resource = SpaceResource.forLaunchType(type);
+        return respondList(resource, offset, cursor, limit, fields, view, acceptEncoding,
+                ifNoneMatch, "Failed to fetch launches data: ");
+    }
+
+    @GetMapping("/launches/{id}")
+    public CompletableFuture<ResponseEntity<?>> getLaunchDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/launches/{} called", id);
+        return respond(spaceDataService.fetchDetailsAsync(SpaceResource.LAUNCH_DETAILS, id),
+                result -> renderer.details(result, acceptEncoding, ifNoneMatch),
+                "Failed to fetch launch details: ");
+    }
+
+    @GetMapping("/astronauts")
+    public CompletableFuture<ResponseEntity<?>> getAstronauts(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/astronauts called with limit={}, offset={}", limit, offset);
+        return respondList(SpaceResource.ASTRONAUTS, offset, cursor, limit, fields, view, acceptEncoding,
+                ifNoneMatch, "Failed to fetch astronauts data: ");
+    }
+
+    @GetMapping("/astronauts/{id}")
+    public CompletableFuture<ResponseEntity<?>> getAstronautDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/astronauts/{} called", id);
+        return respond(spaceDataService.fetchDetailsAsync(SpaceResource.ASTRONAUT_DETAILS, id),
+                result -> renderer.details(result, acceptEncoding, ifNoneMatch),
+                "Failed to fetch astronaut details: ");
+    }
+
+    @GetMapping("/agencies")
+    public CompletableFuture<ResponseEntity<?>> getAgencies(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/agencies called with limit={}, offset={}", limit, offset);
+        return respondList(SpaceResource.AGENCIES, offset, cursor, limit, fields, view, acceptEncoding,
+                ifNoneMatch, "Failed to fetch agencies data: ");
+    }
+
+    @GetMapping("/agencies/{id}")
+    public CompletableFuture<ResponseEntity<?>> getAgencyDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/agencies/{} called", id);
+        return respond(spaceDataService.fetchDetailsAsync(SpaceResource.AGENCY_DETAILS, id),
+                result -> renderer.details(result, acceptEncoding, ifNoneMatch),
+                "Failed to fetch agency details: ");
+    }
+
+    @GetMapping("/programs")
+    public CompletableFuture<ResponseEntity<?>> getPrograms(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/programs called with limit={}, offset={}", limit, offset);
+        return respondList(SpaceResource.PROGRAMS, offset, cursor, limit, fields, view, acceptEncoding,
+                ifNoneMatch, "Failed to fetch programs data: ");
+    }
+
+    @GetMapping("/programs/{id}")
+    public CompletableFuture<ResponseEntity<?>> getProgramDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("GET /api/space/programs/{} called", id);
+        return respond(spaceDataService.fetchDetailsAsync(SpaceResource.PROGRAM_DETAILS, id),
+                result -> renderer.details(result, acceptEncoding, ifNoneMatch),
+                "Failed to fetch program details: ");
+    }
+
+    @PostMapping("/{resource}/batch")
+    public CompletableFuture<ResponseEntity<?>> getDetailsBatch(@PathVariable String resource,
+                                                                @RequestBody SpaceBatchRequest request) {
+        SpaceResource listResource = SpaceResource.fromKey(resource);
+        if (listResource == null || !listResource.isList()) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.NOT_FOUND).body("Unknown resource: " + resource));
+        }
+        logger.info("POST /api/space/{}/batch called with {} ids", resource,
+                request.ids() != null ? request.ids().size() : 0);
+        try {
+            return spaceBatchService.getDetailsAsync(listResource, request.ids())
+                    .thenApply(items -> ResponseEntity.ok(new SpaceBatchResponse(items)));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<?>> respondList(SpaceResource resource, int offset, String cursor,
+                                                             int limit, String fields, String view,
+                                                             String acceptEncoding, String ifNoneMatch,
+                                                             String failure) {
+        CompletableFuture<SpaceDataResult> data;
+        try {
+            data = spaceDataService.fetchListAsync(resource, SpaceListCursor.offsetOf(cursor, offset), limit);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+        return respond(data, result -> renderer.list(resource, result, fields, view, acceptEncoding, ifNoneMatch),
+                failure);
+    }
+
+    private CompletableFuture<ResponseEntity<?>> respond(CompletableFuture<SpaceDataResult> data,
+                                                         Function<SpaceDataResult, ResponseEntity<?>> render,
+                                                         String failure) {
+        return data.thenApply(render).handle((response, error) -> {
+            if (error == null) {
+                return response;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause instanceof UpstreamUnavailableException unavailable) {
+                return SpaceDataController.unavailable(unavailable);
+            }
+            if (cause instanceof IllegalArgumentException) {
+                return ResponseEntity.badRequest().body(cause.getMessage());
+            }
+            logger.error(failure + "{}", cause.getMessage(), cause);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(failure + cause.getMessage());
+        });
+    }
+}
@@ -1,23 +1,41 @@
 package com.codewithme.backend.Controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.codewithme.backend.service.SpaceBatchService;
+import com.codewithme.backend.service.SpaceDataResult;
 import com.codewithme.backend.service.SpaceDataService;
+import com.codewithme.backend.service.SpaceFieldProjection;
+import com.codewithme.backend.service.SpaceListCursor;
+import com.codewithme.backend.service.SpaceResource;
+import com.codewithme.backend.service.UpstreamUnavailableException;
+import com.codewithme.dto.SpaceBatchRequest;
+import com.codewithme.dto.SpaceBatchResponse;
 
 @RestController
+@ConditionalOnProperty(name = "space.execution.mode", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping("/api/space")
 @CrossOrigin(origins = {"http://localhost:80", "http://localhost:5173", "http://localhost:3000", "http://localhost:8081", "http://127.0.0.1:80", "http://127.0.0.1:5173", "http://127.0.0.1:8081", "http://development-platform.local"}, allowCredentials = "true")
 public class SpaceDataController {
     private static final Logger logger = LoggerFactory.getLogger(SpaceDataController.class);
+    // Seconds past its TTL when a stale cached copy is served
+    static final String STALE_HEADER = "X-Cache-Stale-Seconds";
     private final SpaceDataService spaceDataService;
+    private final SpaceBatchService spaceBatchService;
+    private final SpaceResponseRenderer renderer;
 
     @Autowired
-    public SpaceDataController(SpaceDataService spaceDataService) {
+    public SpaceDataController(SpaceDataService spaceDataService, SpaceBatchService spaceBatchService,
+                               SpaceResponseRenderer renderer) {
         this.spaceDataService = spaceDataService;
+        this.spaceBatchService = spaceBatchService;
+        this.renderer = renderer;
         logger.info("SpaceDataController initialized");
     }
 
@@ -35,11 +53,22 @@ public class SpaceDataController {
     @GetMapping("/launches")
     public ResponseEntity<?> getLaunches(
             @RequestParam(required = false) String type,
-            @RequestParam(defaultValue = "20") int limit) {
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            logger.info("GET /api/space/launches called with type={}, limit={}", type, limit);
-            Object data = spaceDataService.getLaunches(type, limit);
-            return ResponseEntity.ok(data);
+            logger.info("GET /api/space/launches called with type={}, limit={}, offset={}", type, limit, offset);
+            SpaceDataResult data = spaceDataService.getLaunches(type,
+                    SpaceListCursor.offsetOf(cursor, offset), limit);
+            return renderer.list(SpaceResource.forLaunchType(type), data, fields, view, acceptEncoding, ifNoneMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching launches", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -48,11 +77,16 @@ public class SpaceDataController {
     }
 
     @GetMapping("/launches/{id}")
-    public ResponseEntity<?> getLaunchDetails(@PathVariable String id) {
+    public ResponseEntity<?> getLaunchDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             logger.info("GET /api/space/launches/{} called", id);
-            Object data = spaceDataService.getLaunchDetails(id);
-            return ResponseEntity.ok(data);
+            SpaceDataResult data = spaceDataService.getLaunchDetails(id);
+            return renderer.details(data, acceptEncoding, ifNoneMatch);
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching launch details", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -61,11 +95,22 @@ public class SpaceDataController {
     }
 
     @GetMapping("/astronauts")
-    public ResponseEntity<?> getAstronauts(@RequestParam(defaultValue = "20") int limit) {
+    public ResponseEntity<?> getAstronauts(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            logger.info("GET /api/space/astronauts called with limit={}", limit);
-            Object data = spaceDataService.getAstronauts(limit);
-            return ResponseEntity.ok(data);
+            logger.info("GET /api/space/astronauts called with limit={}, offset={}", limit, offset);
+            SpaceDataResult data = spaceDataService.getAstronauts(SpaceListCursor.offsetOf(cursor, offset), limit);
+            return renderer.list(SpaceResource.ASTRONAUTS, data, fields, view, acceptEncoding, ifNoneMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching astronauts", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -74,11 +119,16 @@ public class SpaceDataController {
     }
 
     @GetMapping("/astronauts/{id}")
-    public ResponseEntity<?> getAstronautDetails(@PathVariable String id) {
+    public ResponseEntity<?> getAstronautDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             logger.info("GET /api/space/astronauts/{} called", id);
-            Object data = spaceDataService.getAstronautDetails(id);
-            return ResponseEntity.ok(data);
+            SpaceDataResult data = spaceDataService.getAstronautDetails(id);
+            return renderer.details(data, acceptEncoding, ifNoneMatch);
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching astronaut details", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -87,11 +137,22 @@ public class SpaceDataController {
     }
 
     @GetMapping("/agencies")
-    public ResponseEntity<?> getAgencies(@RequestParam(defaultValue = "20") int limit) {
+    public ResponseEntity<?> getAgencies(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            logger.info("GET /api/space/agencies called with limit={}", limit);
-            Object data = spaceDataService.getAgencies(limit);
-            return ResponseEntity.ok(data);
+            logger.info("GET /api/space/agencies called with limit={}, offset={}", limit, offset);
+            SpaceDataResult data = spaceDataService.getAgencies(SpaceListCursor.offsetOf(cursor, offset), limit);
+            return renderer.list(SpaceResource.AGENCIES, data, fields, view, acceptEncoding, ifNoneMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching agencies", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -100,11 +161,16 @@ public class SpaceDataController {
     }
 
     @GetMapping("/agencies/{id}")
-    public ResponseEntity<?> getAgencyDetails(@PathVariable String id) {
+    public ResponseEntity<?> getAgencyDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             logger.info("GET /api/space/agencies/{} called", id);
-            Object data = spaceDataService.getAgencyDetails(id);
-            return ResponseEntity.ok(data);
+            SpaceDataResult data = spaceDataService.getAgencyDetails(id);
+            return renderer.details(data, acceptEncoding, ifNoneMatch);
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching agency details", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -113,11 +179,22 @@ public class SpaceDataController {
     }
 
     @GetMapping("/programs")
-    public ResponseEntity<?> getPrograms(@RequestParam(defaultValue = "20") int limit) {
+    public ResponseEntity<?> getPrograms(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            logger.info("GET /api/space/programs called with limit={}", limit);
-            Object data = spaceDataService.getPrograms(limit);
-            return ResponseEntity.ok(data);
+            logger.info("GET /api/space/programs called with limit={}, offset={}", limit, offset);
+            SpaceDataResult data = spaceDataService.getPrograms(SpaceListCursor.offsetOf(cursor, offset), limit);
+            return renderer.list(SpaceResource.PROGRAMS, data, fields, view, acceptEncoding, ifNoneMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching programs", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -126,15 +203,72 @@ public class SpaceDataController {
     }
 
     @GetMapping("/programs/{id}")
-    public ResponseEntity<?> getProgramDetails(@PathVariable String id) {
+    public ResponseEntity<?> getProgramDetails(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             logger.info("GET /api/space/programs/{} called", id);
-            Object data = spaceDataService.getProgramDetails(id);
-            return ResponseEntity.ok(data);
+            SpaceDataResult data = spaceDataService.getProgramDetails(id);
+            return renderer.details(data, acceptEncoding, ifNoneMatch);
+        } catch (UpstreamUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             logger.error("Error fetching program details", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to fetch program details: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Detail records for several ids at once, e.g. {@code POST /api/space/launches/batch}
+     * with {@code {"ids": [...]}}. Each entry carries its own status.
+     */
+    @PostMapping("/{resource}/batch")
+    public ResponseEntity<?> getDetailsBatch(@PathVariable String resource, @RequestBody SpaceBatchRequest request) {
+        SpaceResource listResource = SpaceResource.fromKey(resource);
+        if (listResource == null || !listResource.isList()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Unknown resource: " + resource);
+        }
+        try {
+            logger.info("POST /api/space/{}/batch called with {} ids", resource,
+                    request.ids() != null ? request.ids().size() : 0);
+            return ResponseEntity.ok(new SpaceBatchResponse(spaceBatchService.getDetails(listResource, request.ids())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error fetching {} batch", resource, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to fetch " + resource + " batch: " + e.getMessage());
+        }
+    }
+
+    // The upstream is throttling us or down and no cached copy could stand in
+    static ResponseEntity<?> unavailable(UpstreamUnavailableException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+
+    static ResponseEntity<?> toResponse(SpaceDataResult data) {
+        return okWithHeaders(data, data.getEtag()).body(data.getBody());
+    }
+
+    static ResponseEntity.BodyBuilder okWithHeaders(SpaceDataResult data, String etag) {
+        return withHeaders(ResponseEntity.ok(), data, etag);
+    }
+
+    static ResponseEntity.BodyBuilder withHeaders(ResponseEntity.BodyBuilder response, SpaceDataResult data,
+                                                  String etag) {
+        response.header(HttpHeaders.AGE, String.valueOf(data.getAgeSeconds()));
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (data.isStale()) {
+            response.header(STALE_HEADER, String.valueOf(data.getStaleness().getSeconds()));
+            response.header(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+        }
+        return response;
+    }
+}
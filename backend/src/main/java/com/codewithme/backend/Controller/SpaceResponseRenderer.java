@@ -0,0 +1,117 @@
+package com.codewithme.backend.Controller;
+
+import com.codewithme.backend.service.SpaceDataResult;
+import com.codewithme.backend.service.SpaceFieldProjection;
+import com.codewithme.backend.service.SpaceResource;
+import com.codewithme.backend.service.SpaceResponseBodyCache;
+import com.codewithme.backend.service.SpaceResponseBodyCache.EncodedBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns cached space data into responses for both controllers. With
+ * {@code space.response-cache.enabled} the body is written from
+ * {@link SpaceResponseBodyCache} as ready-made (and, when the client accepts it,
+ * gzipped) bytes; otherwise Spring serializes the projected object per request.
+ * A matching {@code If-None-Match} is answered with 304 before either happens.
+ */
+@Component
+public class SpaceResponseRenderer {
+    private final SpaceFieldProjection fieldProjection;
+    private final SpaceResponseBodyCache responseBodies;
+
+    public SpaceResponseRenderer(SpaceFieldProjection fieldProjection, SpaceResponseBodyCache responseBodies) {
+        this.fieldProjection = fieldProjection;
+        this.responseBodies = responseBodies;
+    }
+
+    public ResponseEntity<?> list(SpaceResource resource, SpaceDataResult data, String fields, String view,
+                                  String acceptEncoding, String ifNoneMatch) {
+        ResponseEntity<?> notModified = notModified(data, ifNoneMatch);
+        if (notModified != null) {
+            return notModified;
+        }
+        EncodedBody encoded = responseBodies.get(data.getEtag(),
+                resource.getKey() + "?fields=" + fields + "&view=" + view,
+                () -> fieldProjection.project(resource, data.getBody(), fields, view));
+        return encoded != null
+                ? encoded(data, encoded, acceptEncoding)
+                : SpaceDataController.toResponse(fieldProjection.project(resource, data, fields, view));
+    }
+
+    public ResponseEntity<?> details(SpaceDataResult data, String acceptEncoding, String ifNoneMatch) {
+        ResponseEntity<?> notModified = notModified(data, ifNoneMatch);
+        if (notModified != null) {
+            return notModified;
+        }
+        EncodedBody encoded = responseBodies.get(data.getEtag(), "details", data::getBody);
+        return encoded != null ? encoded(data, encoded, acceptEncoding) : SpaceDataController.toResponse(data);
+    }
+
+    /**
+     * A 304 when {@code ifNoneMatch} names the identity or the gzip ETag of
+     * {@code data}, otherwise null. Answered before the body cache is consulted,
+     * so a revalidation never serializes or compresses anything.
+     */
+    static ResponseEntity<?> notModified(SpaceDataResult data, String ifNoneMatch) {
+        String etag = data.getEtag();
+        if (etag == null || ifNoneMatch == null) {
+            return null;
+        }
+        String gzipEtag = gzipEtagOf(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses the weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                String matched = tag.equals(gzipEtag) ? gzipEtag : etag;
+                return SpaceDataController.withHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), data, matched)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+        }
+        return null;
+    }
+
+    private static ResponseEntity<?> encoded(SpaceDataResult data, EncodedBody body, String acceptEncoding) {
+        boolean gzip = body.gzip() != null && acceptsGzip(acceptEncoding);
+        // A strong ETag has to differ between content codings
+        String etag = gzip ? gzipEtagOf(data.getEtag()) : data.getEtag();
+        ResponseEntity.BodyBuilder response = SpaceDataController.okWithHeaders(data, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? body.gzip() : body.identity());
+    }
+
+    private static String gzipEtagOf(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                refused |= parameter.matches("q=0(\\.0{0,3})?");
+            }
+            return !refused;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.codewithme.backend.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codewithme.backend.service.SpaceFieldProjection;
+import com.codewithme.backend.service.SpaceListCursor;
+import com.codewithme.backend.service.SpaceResource;
+import com.codewithme.backend.service.SpaceSearchIndex;
+
+import java.util.Map;
+
+/**
+ * Search and filtering over everything the backend has cached or mirrored,
+ * answered from {@link SpaceSearchIndex} without an upstream call. Serves both
+ * execution modes. Pages look like the list endpoints' and take the same
+ * {@code fields}/{@code view} projection and cursors.
+ */
+@RestController
+@RequestMapping("/api/space")
+@CrossOrigin(origins = {"http://localhost:80", "http://localhost:5173", "http://localhost:3000", "http://localhost:8081", "http://127.0.0.1:80", "http://127.0.0.1:5173", "http://127.0.0.1:8081", "http://development-platform.local"}, allowCredentials = "true")
+public class SpaceSearchController {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceSearchController.class);
+    private final SpaceSearchIndex searchIndex;
+    private final SpaceFieldProjection projection;
+
+    @Autowired
+    public SpaceSearchController(SpaceSearchIndex searchIndex, SpaceFieldProjection projection) {
+        this.searchIndex = searchIndex;
+        this.projection = projection;
+    }
+
+    @GetMapping("/search/{resource}")
+    public ResponseEntity<?> search(
+            @PathVariable String resource,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String agency,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String nationality,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = SpaceFieldProjection.VIEW_COMPACT) String view) {
+        SpaceResource listResource = SpaceResource.fromKey(resource);
+        if (listResource == null || !listResource.isList()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Unknown resource: " + resource);
+        }
+        logger.debug("GET /api/space/search/{} called with q={}, prefix={}", resource, q, prefix);
+        try {
+            SpaceSearchIndex.Query query = SpaceSearchIndex.Query.of(q, prefix, agency, status, nationality, from, to);
+            Map<String, Object> page = searchIndex.search(listResource.getRecordType(), query,
+                    SpaceListCursor.offsetOf(cursor, offset), limit);
+            return ResponseEntity.ok(projection.project(listResource, page, fields, view));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
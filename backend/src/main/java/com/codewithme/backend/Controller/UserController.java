@@ -1,12 +1,20 @@
 package com.codewithme.backend.Controller;
 
+import com.codewithme.backend.service.AuthAttemptThrottle;
+import com.codewithme.backend.service.AuthThrottledException;
+import com.codewithme.backend.service.InvalidTokenException;
 import com.codewithme.backend.service.UserService;
+import com.codewithme.dto.AuthTokens;
+import com.codewithme.dto.RefreshTokenRequest;
 import com.codewithme.dto.UserDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -19,21 +27,26 @@ public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     private final UserService userService;
+    private final AuthAttemptThrottle authAttemptThrottle;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AuthAttemptThrottle authAttemptThrottle) {
         this.userService = userService;
+        this.authAttemptThrottle = authAttemptThrottle;
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@RequestBody UserDTO userDTO) {
+    public ResponseEntity<?> registerUser(@RequestBody UserDTO userDTO, HttpServletRequest request) {
         logger.info("Received registration request for email: {}", userDTO.getEmail());
         try {
+            authAttemptThrottle.checkSignup(request.getRemoteAddr());
             userService.registerUser(userDTO);
             logger.info("Registration successful for email: {}", userDTO.getEmail());
             Map<String, String> response = new HashMap<>();
             response.put("message", "User registered successfully");
             return ResponseEntity.ok(response);
+        } catch (AuthThrottledException e) {
+            return tooManyAttempts(e);
         } catch (Exception e) {
             logger.error("Registration failed for email: {}: {}", userDTO.getEmail(), e.getMessage());
             Map<String, String> errorResponse = new HashMap<>();
@@ -45,17 +58,21 @@ public class UserController {
 
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody UserDTO userDTO) {
+    public ResponseEntity<?> login(@RequestBody UserDTO userDTO, HttpServletRequest request) {
         logger.info("Received login request for email: {}", userDTO.getEmail());
         try {
-            String token = userService.loginUser(userDTO);
+            authAttemptThrottle.checkLogin(userDTO.getEmail(), request.getRemoteAddr());
+            AuthTokens tokens = userService.loginUser(userDTO);
+            authAttemptThrottle.recordLoginSuccess(userDTO.getEmail());
             logger.info("Login successful for email: {}", userDTO.getEmail());
 
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = tokenResponse(tokens);
             response.put("message", "Login successful");
-            response.put("token", token);
             return ResponseEntity.ok(response);
+        } catch (AuthThrottledException e) {
+            return tooManyAttempts(e);
         } catch (Exception e) {
+            authAttemptThrottle.recordLoginFailure(userDTO.getEmail());
             logger.error("Login failed for email: {}: {}", userDTO.getEmail(), e.getMessage());
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -63,6 +80,45 @@ public class UserController {
         }
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(tokenResponse(userService.refreshTokens(request.refreshToken())));
+        } catch (InvalidTokenException e) {
+            logger.info("Token refresh refused: {}", e.getMessage());
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        }
+    }
+
+    // Who the access token belongs to; answered from the token without touching the database
+    @GetMapping("/me")
+    public ResponseEntity<?> me(Authentication authentication) {
+        Map<String, String> response = new HashMap<>();
+        response.put("email", authentication.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    // Refused before any password was hashed: the hashing queue is full or the caller is over its attempt limit
+    private static ResponseEntity<?> tooManyAttempts(AuthThrottledException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
+    private static Map<String, Object> tokenResponse(AuthTokens tokens) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", tokens.accessToken());
+        response.put("refreshToken", tokens.refreshToken());
+        response.put("tokenType", "Bearer");
+        response.put("expiresIn", tokens.expiresIn());
+        return response;
+    }
+
     // Add this endpoint to test CORS
     @GetMapping("/test-cors")
     public ResponseEntity<?> testCors() {
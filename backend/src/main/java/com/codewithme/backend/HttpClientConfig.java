@@ -0,0 +1,204 @@
+package com.codewithme.backend;
+
+import com.codewithme.backend.service.SpaceHttpClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbound HTTP client for the Space Devs API: a pooled Apache HttpClient with
+ * keep-alive reuse, connect/read/total deadlines and transparent gzip decoding,
+ * plus per-host metrics for pool usage, connect time and time-to-first-byte.
+ */
+@Configuration
+public class HttpClientConfig {
+    private static final String CONNECT_STARTED = "space.http.connect-started";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager spaceConnectionManager(SpaceHttpClientProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "spaceApi").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient spaceHttpClient(PoolingHttpClientConnectionManager spaceConnectionManager,
+                                               SpaceHttpClientProperties properties, MeterRegistry meterRegistry,
+                                               ScheduledThreadPoolExecutor spaceHttpDeadlineScheduler) {
+        Set<String> hostsWithPoolGauges = ConcurrentHashMap.newKeySet();
+        long totalTimeoutMillis = properties.getTotalTimeout().toMillis();
+
+        // Outermost step: abort the exchange, redirects and body included, once the total deadline passes
+        ExecChainHandler totalDeadline = (request, scope, chain) -> {
+            if (!(scope.originalRequest instanceof Cancellable cancellable)) {
+                return chain.proceed(request, scope);
+            }
+            ScheduledFuture<?> deadline = spaceHttpDeadlineScheduler.schedule(
+                    cancellable::cancel, totalTimeoutMillis, TimeUnit.MILLISECONDS);
+            ClassicHttpResponse response;
+            try {
+                response = chain.proceed(request, scope);
+            } catch (IOException | HttpException | RuntimeException e) {
+                deadline.cancel(false);
+                throw e;
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                deadline.cancel(false);
+            } else {
+                // RestTemplate closes the response once the body has been read
+                response.setEntity(new HttpEntityWrapper(entity) {
+                    @Override
+                    public void close() throws IOException {
+                        deadline.cancel(false);
+                        super.close();
+                    }
+                });
+            }
+            return response;
+        };
+
+        // Runs before the connect step: remember when we started waiting for a connection
+        ExecChainHandler connectStart = (request, scope, chain) -> {
+            scope.clientContext.setAttribute(CONNECT_STARTED, System.nanoTime());
+            return chain.proceed(request, scope);
+        };
+
+        // Runs once a connection is leased and connected: record connect time, then time to the response head
+        ExecChainHandler connectedAndTtfb = (request, scope, chain) -> {
+            String host = scope.route.getTargetHost().getHostName();
+            Object started = scope.clientContext.getAttribute(CONNECT_STARTED);
+            long now = System.nanoTime();
+            if (started instanceof Long startedAt) {
+                Timer.builder("space.http.client.connect")
+                        .description("Time to lease and, if needed, open a connection to the upstream")
+                        .tag("host", host)
+                        .register(meterRegistry)
+                        .record(now - startedAt, TimeUnit.NANOSECONDS);
+            }
+            if (hostsWithPoolGauges.add(host)) {
+                registerPoolGauges(spaceConnectionManager, scope.route, host, meterRegistry);
+            }
+            try {
+                return chain.proceed(request, scope);
+            } finally {
+                Timer.builder("space.http.client.ttfb")
+                        .description("Time from sending the request to receiving the response head")
+                        .tag("host", host)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - now, TimeUnit.NANOSECONDS);
+            }
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(spaceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(properties.getKeepAlive()))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .addExecInterceptorFirst("space-total-deadline", totalDeadline)
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "space-connect-start", connectStart)
+                .addExecInterceptorAfter(ChainElement.CONNECT.name(), "space-connect-ttfb", connectedAndTtfb)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledThreadPoolExecutor spaceHttpDeadlineScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "space-http-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Deadlines of finished exchanges leave the queue right away instead of at expiry
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient spaceHttpClient) {
+        // Built through RestTemplateBuilder so Boot's http.client.requests observation applies
+        return builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(spaceHttpClient)).build();
+    }
+
+    /**
+     * Non-blocking client used by {@code space.execution.mode=async}. It
+     * negotiates HTTP/2 where the upstream offers it and keeps connections
+     * alive otherwise. Created on first use, so the blocking mode never starts
+     * its selector thread.
+     */
+    @Bean
+    @Lazy
+    public java.net.http.HttpClient spaceAsyncHttpClient(SpaceHttpClientProperties properties) {
+        AtomicInteger counter = new AtomicInteger();
+        return java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+                .executor(Executors.newFixedThreadPool(properties.getAsyncThreads(), runnable -> {
+                    Thread thread = new Thread(runnable, "space-http-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+    }
+
+    private static void registerPoolGauges(PoolingHttpClientConnectionManager connectionManager, HttpRoute route,
+                                           String host, MeterRegistry meterRegistry) {
+        Gauge.builder("space.http.client.pool.leased", connectionManager, cm -> cm.getStats(route).getLeased())
+                .description("Pooled connections to the host currently in use")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("space.http.client.pool.available", connectionManager, cm -> cm.getStats(route).getAvailable())
+                .description("Idle pooled connections to the host")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("space.http.client.pool.pending", connectionManager, cm -> cm.getStats(route).getPending())
+                .description("Requests waiting for a pooled connection to the host")
+                .tag("host", host)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.codewithme.backend;
+
+import com.codewithme.backend.service.InvalidTokenException;
+import com.codewithme.backend.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests that carry {@code Authorization: Bearer <access token>}.
+ * The token is checked by {@link TokenService} alone, so no user is loaded and
+ * no password is hashed per request. A missing or bad token leaves the request
+ * anonymous; the authorization rules decide whether that is allowed.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER = "Bearer ";
+    private static final List<SimpleGrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final TokenService tokenService;
+
+    public JwtAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            try {
+                TokenService.Claims claims = tokenService.verify(header.substring(BEARER.length()).trim(), TokenService.ACCESS);
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(claims.subject(), null, USER_AUTHORITIES);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (InvalidTokenException e) {
+                logger.debug("Ignoring bearer token on {}: {}", request.getRequestURI(), e.getMessage());
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
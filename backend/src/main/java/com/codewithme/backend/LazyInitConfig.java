@@ -0,0 +1,27 @@
+package com.codewithme.backend;
+
+import com.codewithme.backend.service.LaunchUpdateStream;
+import com.codewithme.backend.service.SharedSpaceCache;
+import com.codewithme.backend.service.SpaceDataPrefetcher;
+import com.codewithme.backend.service.SpaceDataSnapshot;
+import com.codewithme.backend.service.SpaceMirrorSyncJob;
+import com.codewithme.backend.service.SpaceSearchIndex;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager under {@code spring.main.lazy-initialization}: they
+ * schedule work, restore the startup snapshot or listen to the cache from the
+ * start, so nothing else would ever ask for them. Everything they depend on
+ * (the space data cache, client and upstream guard) is created with them.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SpaceDataSnapshot.class, SpaceSearchIndex.class,
+                SharedSpaceCache.class, LaunchUpdateStream.class, SpaceDataPrefetcher.class, SpaceMirrorSyncJob.class);
+    }
+}
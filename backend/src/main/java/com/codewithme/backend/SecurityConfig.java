@@ -2,7 +2,10 @@ package com.codewithme.backend;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import com.codewithme.backend.service.PasswordHashingProperties;
+import com.codewithme.backend.service.TokenService;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -10,6 +13,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -20,9 +25,11 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
+    private final TokenService tokenService;
 
-    public SecurityConfig(UserDetailsService userDetailsService) {
+    public SecurityConfig(UserDetailsService userDetailsService, TokenService tokenService) {
         this.userDetailsService = userDetailsService;
+        this.tokenService = tokenService;
     }
 
     @Bean
@@ -31,9 +38,15 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Bearer access tokens are checked from their signature alone, without a user lookup
+                .addFilterBefore(new JwtAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
+                        // Endpoints that need a valid access token
+                        .requestMatchers("/api/me").authenticated()
                         // Public endpoints
-                        .requestMatchers("/api/signup", "/api/login", "/api/test-cors").permitAll()
+                        .requestMatchers("/api/signup", "/api/login", "/api/token/refresh", "/api/test-cors").permitAll()
                         .requestMatchers("/api/space/**").permitAll()  // Allow all space API endpoints
                         .requestMatchers("/actuator/**").permitAll()   // Allow actuator endpoints for health checks
                         .requestMatchers("/health", "/info", "/metrics").permitAll() // Additional health endpoints
@@ -71,7 +84,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties hashingProperties) {
+        return new BCryptPasswordEncoder(hashingProperties.getBcryptStrength());
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.codewithme.backend;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A space data response shared by every backend replica through Postgres,
+ * keyed like the in-process cache (by upstream URL). A row may also exist
+ * without a payload while a replica holds the refresh lease for a key that
+ * has not been loaded yet.
+ */
+@Entity
+@Table(name = "space_shared_cache",
+        indexes = @Index(name = "idx_space_shared_cache_expires_at", columnList = "expires_at"))
+public class SharedCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 1024)
+    private String cacheKey;
+
+    @Column(name = "resource", nullable = false, length = 32)
+    private String resource;
+
+    // How to read the payload back: "json", or "page:<item class>" for typed list pages
+    @Column(name = "body_type")
+    private String bodyType;
+
+    // The body as JSON bytes, exactly as its ETag was computed over
+    @Column(name = "payload")
+    private byte[] payload;
+
+    @Column(name = "etag", length = 64)
+    private String etag;
+
+    @Column(name = "upstream_etag", length = 256)
+    private String upstreamEtag;
+
+    @Column(name = "fetched_at")
+    private Instant fetchedAt;
+
+    // After this the row is deleted; the TTL plus the stale windows of the resource
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Replica currently loading this key, and until when the others leave it to it
+    @Column(name = "refresh_owner", length = 128)
+    private String refreshOwner;
+
+    @Column(name = "refresh_lease_until")
+    private Instant refreshLeaseUntil;
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getBodyType() {
+        return bodyType;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getUpstreamEtag() {
+        return upstreamEtag;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getRefreshOwner() {
+        return refreshOwner;
+    }
+
+    public Instant getRefreshLeaseUntil() {
+        return refreshLeaseUntil;
+    }
+}
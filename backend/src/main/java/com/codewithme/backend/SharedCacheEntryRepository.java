@@ -0,0 +1,74 @@
+package com.codewithme.backend;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Writes to {@code space_shared_cache} are single Postgres upserts, so replicas
+ * racing on the same key need no locks beyond the row's own.
+ */
+@Repository
+public interface SharedCacheEntryRepository extends JpaRepository<SharedCacheEntry, String> {
+
+    /**
+     * Takes the refresh lease for {@code key} unless another owner holds an
+     * unexpired one; returns 1 when the caller now owns it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO space_shared_cache (cache_key, resource, expires_at, refresh_owner, refresh_lease_until) "
+            + "VALUES (:key, :resource, :leaseUntil, :owner, :leaseUntil) "
+            + "ON CONFLICT (cache_key) DO UPDATE SET refresh_owner = EXCLUDED.refresh_owner, "
+            + "refresh_lease_until = EXCLUDED.refresh_lease_until "
+            + "WHERE space_shared_cache.refresh_lease_until IS NULL OR space_shared_cache.refresh_lease_until < :now "
+            + "OR space_shared_cache.refresh_owner = EXCLUDED.refresh_owner",
+            nativeQuery = true)
+    int acquireRefreshLease(@Param("key") String key, @Param("resource") String resource,
+                            @Param("owner") String owner, @Param("now") Instant now,
+                            @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Stores a loaded body and ends any refresh lease on the key. A body fetched
+     * before the one already stored is ignored.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO space_shared_cache (cache_key, resource, body_type, payload, etag, upstream_etag, "
+            + "fetched_at, expires_at, refresh_owner, refresh_lease_until) "
+            + "VALUES (:key, :resource, :bodyType, :payload, :etag, :upstreamEtag, :fetchedAt, :expiresAt, NULL, NULL) "
+            + "ON CONFLICT (cache_key) DO UPDATE SET resource = EXCLUDED.resource, body_type = EXCLUDED.body_type, "
+            + "payload = EXCLUDED.payload, etag = EXCLUDED.etag, upstream_etag = EXCLUDED.upstream_etag, "
+            + "fetched_at = EXCLUDED.fetched_at, expires_at = EXCLUDED.expires_at, "
+            + "refresh_owner = NULL, refresh_lease_until = NULL "
+            + "WHERE space_shared_cache.fetched_at IS NULL OR space_shared_cache.fetched_at <= EXCLUDED.fetched_at",
+            nativeQuery = true)
+    int publish(@Param("key") String key, @Param("resource") String resource, @Param("bodyType") String bodyType,
+                @Param("payload") byte[] payload, @Param("etag") String etag,
+                @Param("upstreamEtag") String upstreamEtag, @Param("fetchedAt") Instant fetchedAt,
+                @Param("expiresAt") Instant expiresAt);
+
+    // Gives up a lease after a failed load, so another replica can try at once
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE space_shared_cache SET refresh_owner = NULL, refresh_lease_until = NULL "
+            + "WHERE cache_key = :key AND refresh_owner = :owner",
+            nativeQuery = true)
+    int releaseRefreshLease(@Param("key") String key, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM space_shared_cache WHERE expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now);
+
+    // The table only holds a cache, so it skips the WAL; a crash empties it instead of replaying it
+    @Transactional
+    @Modifying
+    @Query(value = "ALTER TABLE space_shared_cache SET UNLOGGED", nativeQuery = true)
+    void makeUnlogged();
+}
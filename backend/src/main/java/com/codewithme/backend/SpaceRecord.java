@@ -0,0 +1,126 @@
+package com.codewithme.backend;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A Space Devs launch, astronaut, agency or program mirrored locally. The full
+ * upstream JSON is kept as a JSON (jsonb on Postgres) column; the fields we
+ * filter and sort on are pulled out into indexed columns.
+ */
+@Entity
+@Table(name = "space_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_space_records_type_external_id",
+                columnNames = {"record_type", "external_id"}),
+        indexes = {
+                @Index(name = "idx_space_records_type_last_updated", columnList = "record_type, last_updated"),
+                @Index(name = "idx_space_records_type_net", columnList = "record_type, net"),
+                @Index(name = "idx_space_records_type_name", columnList = "record_type, name")
+        })
+public class SpaceRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", nullable = false, length = 16)
+    private SpaceRecordType type;
+
+    @Column(name = "external_id", nullable = false)
+    private String externalId;
+
+    @Column(name = "name")
+    private String name;
+
+    // Upstream last_updated, drives the incremental sync where the type has one
+    @Column(name = "last_updated")
+    private Instant lastUpdated;
+
+    // Launch window start; null for other record types
+    @Column(name = "net")
+    private Instant net;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false)
+    private Map<String, Object> payload;
+
+    // SHA-256 of the payload, so unchanged records are not rewritten on every pass
+    @Column(name = "payload_hash", length = 64)
+    private String payloadHash;
+
+    @Column(name = "synced_at")
+    private Instant syncedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public SpaceRecordType getType() {
+        return type;
+    }
+
+    public void setType(SpaceRecordType type) {
+        this.type = type;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public void setExternalId(String externalId) {
+        this.externalId = externalId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    public Instant getNet() {
+        return net;
+    }
+
+    public void setNet(Instant net) {
+        this.net = net;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public void setPayloadHash(String payloadHash) {
+        this.payloadHash = payloadHash;
+    }
+
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    public void setSyncedAt(Instant syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+}
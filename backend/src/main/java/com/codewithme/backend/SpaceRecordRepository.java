@@ -0,0 +1,28 @@
+package com.codewithme.backend;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SpaceRecordRepository extends JpaRepository<SpaceRecord, Long> {
+    SpaceRecord findByTypeAndExternalId(SpaceRecordType type, String externalId);
+
+    List<SpaceRecord> findByTypeAndExternalIdIn(SpaceRecordType type, Collection<String> externalIds);
+
+    List<SpaceRecord> findByType(SpaceRecordType type, Pageable pageable);
+
+    List<SpaceRecord> findByTypeAndNetGreaterThanEqual(SpaceRecordType type, Instant net, Pageable pageable);
+
+    List<SpaceRecord> findByTypeAndNetLessThan(SpaceRecordType type, Instant net, Pageable pageable);
+
+    long countByType(SpaceRecordType type);
+
+    long countByTypeAndNetGreaterThanEqual(SpaceRecordType type, Instant net);
+
+    long countByTypeAndNetLessThan(SpaceRecordType type, Instant net);
+}
@@ -0,0 +1,28 @@
+package com.codewithme.backend;
+
+/**
+ * Space Devs entity kinds mirrored into Postgres, with their upstream list path
+ * and whether the upstream exposes {@code last_updated} to sync incrementally on.
+ */
+public enum SpaceRecordType {
+    LAUNCH("/launch/", true),
+    ASTRONAUT("/astronaut/", false),
+    AGENCY("/agencies/", false),
+    PROGRAM("/program/", false);
+
+    private final String path;
+    private final boolean tracksLastUpdated;
+
+    SpaceRecordType(String path, boolean tracksLastUpdated) {
+        this.path = path;
+        this.tracksLastUpdated = tracksLastUpdated;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean tracksLastUpdated() {
+        return tracksLastUpdated;
+    }
+}
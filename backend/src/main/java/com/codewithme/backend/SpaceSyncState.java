@@ -0,0 +1,75 @@
+package com.codewithme.backend;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of the incremental mirror sync for one record type.
+ */
+@Entity
+@Table(name = "space_sync_state")
+public class SpaceSyncState {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", length = 16)
+    private SpaceRecordType type;
+
+    // Highest upstream last_updated stored so far; the next sync starts from here
+    @Column(name = "high_watermark")
+    private Instant highWatermark;
+
+    @Column(name = "last_synced_at")
+    private Instant lastSyncedAt;
+
+    // Upstream page the next sync resumes from when the last one ran out of pages mid-walk
+    @Column(name = "next_page_url", length = 1024)
+    private String nextPageUrl;
+
+    // Set once a sync has walked every page, after which reads may be served locally
+    @Column(name = "initial_sync_complete", nullable = false)
+    private boolean initialSyncComplete;
+
+    public SpaceSyncState() {}
+
+    public SpaceSyncState(SpaceRecordType type) {
+        this.type = type;
+    }
+
+    public SpaceRecordType getType() {
+        return type;
+    }
+
+    public Instant getHighWatermark() {
+        return highWatermark;
+    }
+
+    public void setHighWatermark(Instant highWatermark) {
+        this.highWatermark = highWatermark;
+    }
+
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(Instant lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public String getNextPageUrl() {
+        return nextPageUrl;
+    }
+
+    public void setNextPageUrl(String nextPageUrl) {
+        this.nextPageUrl = nextPageUrl;
+    }
+
+    public boolean isInitialSyncComplete() {
+        return initialSyncComplete;
+    }
+
+    public void setInitialSyncComplete(boolean initialSyncComplete) {
+        this.initialSyncComplete = initialSyncComplete;
+    }
+}
@@ -0,0 +1,8 @@
+package com.codewithme.backend;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SpaceSyncStateRepository extends JpaRepository<SpaceSyncState, SpaceRecordType> {
+}
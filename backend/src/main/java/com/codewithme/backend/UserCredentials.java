@@ -0,0 +1,7 @@
+package com.codewithme.backend;
+
+/**
+ * The columns a login needs, read without loading a managed {@link User}.
+ */
+public record UserCredentials(String email, String password) {
+}
@@ -1,10 +1,28 @@
 package com.codewithme.backend;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByEmail(String email);
 
+    // Selects only email and password hash into the record, so nothing enters the persistence context
+    UserCredentials findCredentialsByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Inserts the user unless the email is taken, in one statement; the unique
+     * constraint on email settles concurrent signups. Returns the rows inserted.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO users (email, password) VALUES (:email, :password) ON CONFLICT (email) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("email") String email, @Param("password") String password);
 }
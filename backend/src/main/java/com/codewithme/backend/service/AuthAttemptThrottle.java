@@ -0,0 +1,139 @@
+package com.codewithme.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits signup and login attempts before any password is hashed.
+ *
+ * Each client address gets {@code auth.throttle.max-attempts-per-ip} attempts
+ * per window, which caps credential stuffing from one source. Each email gets
+ * {@code auth.throttle.max-failures-per-email} failed logins per window, which
+ * caps guessing one account's password from many sources. A successful login
+ * clears that email's failures.
+ *
+ * Windows are fixed and start at the first attempt. They live in a bounded
+ * Caffeine cache that drops them once the window has passed.
+ */
+@Component
+public class AuthAttemptThrottle {
+    private static final Logger logger = LoggerFactory.getLogger(AuthAttemptThrottle.class);
+
+    private final AuthThrottleProperties properties;
+    private final LongSupplier nanoTime;
+    private final Cache<String, Window> ipWindows;
+    private final Cache<String, Window> emailWindows;
+    private final Counter throttledByIp;
+    private final Counter throttledByEmail;
+
+    @Autowired
+    public AuthAttemptThrottle(AuthThrottleProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    AuthAttemptThrottle(AuthThrottleProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.ipWindows = newWindows(properties, nanoTime);
+        this.emailWindows = newWindows(properties, nanoTime);
+        this.throttledByIp = Counter.builder("auth.throttled")
+                .description("Signups and logins refused before hashing")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+        this.throttledByEmail = Counter.builder("auth.throttled")
+                .description("Signups and logins refused before hashing")
+                .tag("reason", "email")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a login attempt from {@code clientIp} and refuses it if that address
+     * or {@code email} is over its limit.
+     */
+    public void checkLogin(String email, String clientIp) {
+        checkIp(clientIp);
+        if (properties.getMaxFailuresPerEmail() <= 0 || email == null) {
+            return;
+        }
+        Window failures = emailWindows.getIfPresent(normalize(email));
+        if (failures != null && failures.count.get() >= properties.getMaxFailuresPerEmail()) {
+            throttledByEmail.increment();
+            logger.warn("Login throttled for {}: {} failures in the current window", email, failures.count.get());
+            throw new AuthThrottledException("Too many failed logins for this account, try again later",
+                    failures.remaining());
+        }
+    }
+
+    /**
+     * Counts a signup attempt from {@code clientIp} and refuses it if that address is over its limit.
+     */
+    public void checkSignup(String clientIp) {
+        checkIp(clientIp);
+    }
+
+    public void recordLoginFailure(String email) {
+        if (properties.getMaxFailuresPerEmail() > 0 && email != null) {
+            window(emailWindows, normalize(email)).count.incrementAndGet();
+        }
+    }
+
+    public void recordLoginSuccess(String email) {
+        if (email != null) {
+            emailWindows.invalidate(normalize(email));
+        }
+    }
+
+    private void checkIp(String clientIp) {
+        if (properties.getMaxAttemptsPerIp() <= 0 || clientIp == null) {
+            return;
+        }
+        Window attempts = window(ipWindows, clientIp);
+        if (attempts.count.incrementAndGet() > properties.getMaxAttemptsPerIp()) {
+            throttledByIp.increment();
+            logger.warn("Auth attempt throttled for {}: {} attempts in the current window", clientIp, attempts.count.get());
+            throw new AuthThrottledException("Too many attempts from this address, try again later", attempts.remaining());
+        }
+    }
+
+    private Window window(Cache<String, Window> windows, String key) {
+        return windows.get(key, ignored -> new Window(nanoTime.getAsLong()));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Entries are written once, when the window opens, so expireAfterWrite ends the window
+    private static Cache<String, Window> newWindows(AuthThrottleProperties properties, LongSupplier nanoTime) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterWrite(properties.getWindow())
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    private final class Window {
+        private final long startedAt;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        Duration remaining() {
+            long left = properties.getWindow().toNanos() - (nanoTime.getAsLong() - startedAt);
+            return Duration.ofNanos(Math.max(0, left));
+        }
+    }
+}
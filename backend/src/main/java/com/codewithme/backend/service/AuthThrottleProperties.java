@@ -0,0 +1,58 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link AuthAttemptThrottle}, bound from {@code auth.throttle.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.throttle")
+public class AuthThrottleProperties {
+
+    // Attempts are counted in fixed windows of this length, starting at the first attempt
+    private Duration window = Duration.ofMinutes(15);
+
+    // Failed logins allowed per email in a window; 0 disables the check
+    private int maxFailuresPerEmail = 10;
+
+    // Signups and logins allowed per client address in a window, successful or not; 0 disables the check
+    private int maxAttemptsPerIp = 100;
+
+    // Emails and addresses tracked at once; the least recently used are forgotten first
+    private long maxTrackedKeys = 100_000;
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxFailuresPerEmail() {
+        return maxFailuresPerEmail;
+    }
+
+    public void setMaxFailuresPerEmail(int maxFailuresPerEmail) {
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+    }
+
+    public int getMaxAttemptsPerIp() {
+        return maxAttemptsPerIp;
+    }
+
+    public void setMaxAttemptsPerIp(int maxAttemptsPerIp) {
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+    }
+
+    public long getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(long maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+}
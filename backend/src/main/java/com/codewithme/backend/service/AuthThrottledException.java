@@ -0,0 +1,21 @@
+package com.codewithme.backend.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a signup or login is turned away before any password work is
+ * done, either because the password hashing queue is full or because the
+ * email or client address has made too many attempts.
+ */
+public class AuthThrottledException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public AuthThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,58 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the signed access and refresh tokens, bound from {@code auth.token.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.token")
+public class AuthTokenProperties {
+
+    // Base64 HMAC-SHA256 key, at least 32 bytes; when empty a random key is used and tokens die with the process
+    private String secret = "";
+
+    // Written to and required in the iss claim
+    private String issuer = "belong-earth";
+
+    // Lifetime of the token sent with each request
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    // Lifetime of the token exchanged for a new pair at /api/token/refresh
+    private Duration refreshTokenTtl = Duration.ofDays(14);
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public void setIssuer(String issuer) {
+        this.issuer = issuer;
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    public void setAccessTokenTtl(Duration accessTokenTtl) {
+        this.accessTokenTtl = accessTokenTtl;
+    }
+
+    public Duration getRefreshTokenTtl() {
+        return refreshTokenTtl;
+    }
+
+    public void setRefreshTokenTtl(Duration refreshTokenTtl) {
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+}
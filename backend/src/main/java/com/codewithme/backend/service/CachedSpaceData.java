@@ -0,0 +1,61 @@
+package com.codewithme.backend.service;
+
+import java.time.Instant;
+
+/**
+ * An upstream response body held by {@link SpaceDataCache}, together with the
+ * resource it belongs to, the moment it was fetched and its validators.
+ */
+public class CachedSpaceData {
+    private final SpaceResource resource;
+    private final Object body;
+    private final Instant fetchedAt;
+    private final String etag;
+    private final String upstreamEtag;
+    private final boolean restored;
+
+    public CachedSpaceData(SpaceResource resource, Object body, Instant fetchedAt) {
+        this(resource, body, fetchedAt, null, null);
+    }
+
+    public CachedSpaceData(SpaceResource resource, Object body, Instant fetchedAt, String etag, String upstreamEtag) {
+        this(resource, body, fetchedAt, etag, upstreamEtag, false);
+    }
+
+    public CachedSpaceData(SpaceResource resource, Object body, Instant fetchedAt, String etag, String upstreamEtag,
+                           boolean restored) {
+        this.resource = resource;
+        this.body = body;
+        this.fetchedAt = fetchedAt;
+        this.etag = etag;
+        this.upstreamEtag = upstreamEtag;
+        this.restored = restored;
+    }
+
+    public SpaceResource getResource() {
+        return resource;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    // Our validator for this body, sent to clients
+    public String getEtag() {
+        return etag;
+    }
+
+    // The upstream's validator for this body, sent back when revalidating
+    public String getUpstreamEtag() {
+        return upstreamEtag;
+    }
+
+    // Read back from the on-disk snapshot at startup rather than loaded by this process
+    public boolean isRestored() {
+        return restored;
+    }
+}
@@ -0,0 +1,12 @@
+package com.codewithme.backend.service;
+
+/**
+ * Thrown by {@link TokenService} for a token that is malformed, badly signed,
+ * expired, from another issuer or of the wrong kind.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
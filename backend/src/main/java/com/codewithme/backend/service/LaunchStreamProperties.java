@@ -0,0 +1,102 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the live launch stream, bound from {@code space.stream.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.stream")
+public class LaunchStreamProperties {
+
+    // How often the upcoming launches are re-read while anyone is subscribed
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    // Upcoming launches tracked, from the soonest
+    private int limit = 100;
+
+    // Open streams allowed; further subscribers get a 503
+    private int maxSubscribers = 5000;
+
+    // Events queued per subscriber; a subscriber that falls further behind gets a fresh snapshot instead
+    private int bufferSize = 32;
+
+    // Threads writing events to subscribers
+    private int senderThreads = 4;
+
+    // Longest a single event write may take; a client that does not read it in time is disconnected
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    // Comment line sent to idle streams so proxies keep them open and dead ones are noticed
+    private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+    // Lifetime of one stream; EventSource clients reconnect on their own
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getEmitterTimeout() {
+        return emitterTimeout;
+    }
+
+    public void setEmitterTimeout(Duration emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+}
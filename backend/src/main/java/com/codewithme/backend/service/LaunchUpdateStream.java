@@ -0,0 +1,363 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.LaunchState;
+import com.codewithme.dto.LaunchUpdate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans changes to the upcoming launches out to Server-Sent Events subscribers.
+ *
+ * While anyone is subscribed, the upcoming launches are read every
+ * {@code space.stream.poll-interval} through {@link SpaceDataService}, so one
+ * poll (usually a cache hit) serves every subscriber. The result is diffed
+ * against the previous poll and each change is serialized once into a
+ * {@code launch} event. A new subscriber first gets a {@code snapshot} event
+ * with the full list.
+ *
+ * Each subscriber has a bounded buffer drained by a small pool of sender
+ * threads, one drain at a time per subscriber. A client too slow to keep up
+ * overflows its buffer. Its queued diffs are then dropped and it gets the
+ * current snapshot instead, so a slow reader costs a bounded amount of memory.
+ * Every write has a deadline of {@code space.stream.send-timeout}: the socket
+ * write itself runs on a separate thread, and a client that has not taken the
+ * event by then is disconnected. A stalled client therefore holds a sender for
+ * at most that long before the sender moves on to the others.
+ */
+@Component
+public class LaunchUpdateStream {
+    private static final Logger logger = LoggerFactory.getLogger(LaunchUpdateStream.class);
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String LAUNCH_EVENT = "launch";
+
+    private final SpaceDataService spaceDataService;
+    private final LaunchStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sender;
+    private final ExecutorService writer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+    private final Counter publishedEvents;
+    private final Counter resyncs;
+    private final Counter sendTimeouts;
+    // Launches as of the last poll, in upstream order, and the snapshot event built from them; null before the first poll
+    private volatile Map<String, LaunchState> launches;
+    private volatile Set<DataWithMediaType> snapshot;
+
+    @Autowired
+    public LaunchUpdateStream(SpaceDataService spaceDataService, LaunchStreamProperties properties,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(spaceDataService, properties, objectMapper, meterRegistry, newSender(properties.getSenderThreads()),
+                newWriter());
+    }
+
+    LaunchUpdateStream(SpaceDataService spaceDataService, LaunchStreamProperties properties,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry, ExecutorService sender,
+                       ExecutorService writer) {
+        this.spaceDataService = spaceDataService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.writer = writer;
+        Gauge.builder("space.stream.subscribers", subscribers, Set::size)
+                .description("Open launch update streams")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("space.stream.events")
+                .description("Launch changes published to the stream, counted once however many subscribers")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("space.stream.resyncs")
+                .description("Subscribers that fell behind and were sent a fresh snapshot")
+                .register(meterRegistry);
+        this.sendTimeouts = Counter.builder("space.stream.send.timeouts")
+                .description("Subscribers disconnected because a write did not finish within the send timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for one client, or returns null when
+     * {@code space.stream.max-subscribers} streams are already open.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, properties.getBufferSize());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        if (launches == null) {
+            // The snapshot goes out once the first poll has finished
+            execute(this::refresh);
+        } else {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    @Scheduled(initialDelayString = "${space.stream.poll-interval:30s}",
+            fixedDelayString = "${space.stream.poll-interval:30s}")
+    public void poll() {
+        if (!subscribers.isEmpty()) {
+            refresh();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${space.stream.heartbeat-interval:20s}",
+            fixedDelayString = "${space.stream.heartbeat-interval:20s}")
+    public void heartbeat() {
+        Set<DataWithMediaType> comment = SseEmitter.event().comment("keepalive").build();
+        for (Subscriber subscriber : subscribers) {
+            // Streams with events queued are not idle
+            if (subscriber.buffer.isEmpty() && subscriber.buffer.offer(comment)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        writer.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Reads the upcoming launches and publishes what changed since the last read.
+     */
+    synchronized void refresh() {
+        Map<String, LaunchState> current;
+        try {
+            current = statesOf(spaceDataService.getLaunches("upcoming", 0, properties.getLimit()).getBody());
+        } catch (RuntimeException e) {
+            logger.warn("Launch stream poll failed, keeping the last known launches: {}", e.getMessage());
+            return;
+        }
+        Map<String, LaunchState> previous = launches;
+        launches = current;
+        snapshot = event(SNAPSHOT_EVENT, List.copyOf(current.values()));
+        if (previous == null) {
+            subscribers.forEach(this::schedule);
+            return;
+        }
+        for (LaunchUpdate update : diff(previous, current)) {
+            publish(event(LAUNCH_EVENT, update));
+        }
+    }
+
+    static List<LaunchUpdate> diff(Map<String, LaunchState> previous, Map<String, LaunchState> current) {
+        List<LaunchUpdate> updates = new ArrayList<>();
+        current.values().forEach(launch -> {
+            LaunchState before = previous.get(launch.id());
+            if (before == null) {
+                updates.add(LaunchUpdate.added(launch));
+                return;
+            }
+            if (!Objects.equals(before.status(), launch.status())) {
+                updates.add(new LaunchUpdate("status", launch, before.status(), null));
+            }
+            if (!Objects.equals(before.net(), launch.net())) {
+                updates.add(new LaunchUpdate("net", launch, null, before.net()));
+            }
+        });
+        previous.values().forEach(before -> {
+            if (!current.containsKey(before.id())) {
+                updates.add(LaunchUpdate.removed(before));
+            }
+        });
+        return updates;
+    }
+
+    private void publish(Set<DataWithMediaType> event) {
+        publishedEvents.increment();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(event)) {
+                subscriber.buffer.clear();
+                subscriber.resync = true;
+                resyncs.increment();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            if (!execute(() -> drain(subscriber))) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                Set<DataWithMediaType> current = snapshot;
+                if (subscriber.resync && current != null) {
+                    subscriber.resync = false;
+                    send(subscriber, current);
+                    continue;
+                }
+                Set<DataWithMediaType> event = subscriber.buffer.poll();
+                if (event == null) {
+                    break;
+                }
+                send(subscriber, event);
+            }
+        } catch (TimeoutException e) {
+            sendTimeouts.increment();
+            logger.debug("Launch stream client did not take an event within {}, disconnecting it",
+                    properties.getSendTimeout());
+            disconnect(subscriber, e);
+            return;
+        } catch (InterruptedException e) {
+            // Shutting down
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            // Closed or broken connection
+            disconnect(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events offered after the last poll above would otherwise wait for the next publish
+        if (!subscriber.buffer.isEmpty() || (subscriber.resync && snapshot != null)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Set<DataWithMediaType> event)
+            throws IOException, TimeoutException, InterruptedException {
+        Future<?> write = writer.submit(() -> {
+            subscriber.emitter.send(event);
+            return null;
+        });
+        try {
+            write.get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            write.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, Throwable cause) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private boolean execute(Runnable task) {
+        try {
+            sender.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private Set<DataWithMediaType> event(String name, Object data) {
+        try {
+            // Serialized here once; every subscriber is sent the same bytes
+            return SseEmitter.event()
+                    .id(String.valueOf(version.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(data))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, LaunchState> statesOf(Object page) {
+        Map<String, LaunchState> states = new LinkedHashMap<>();
+        for (Object item : SpaceListSlicer.resultsOf(page)) {
+            Map<String, Object> launch = item instanceof Map<?, ?> map
+                    ? (Map<String, Object>) map : objectMapper.convertValue(item, Map.class);
+            if (launch.get("id") == null) {
+                continue;
+            }
+            String id = String.valueOf(launch.get("id"));
+            String status = launch.get("status") instanceof Map<?, ?> statusRef && statusRef.get("name") != null
+                    ? String.valueOf(statusRef.get("name")) : null;
+            states.put(id, new LaunchState(id, stringOrNull(launch.get("name")), status, stringOrNull(launch.get("net"))));
+        }
+        return states;
+    }
+
+    private static String stringOrNull(Object value) {
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    // At most one drain task per subscriber is queued, so the queue is bounded by space.stream.max-subscribers
+    private static ExecutorService newSender(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "space-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Unbounded, but a write that outlives space.stream.send-timeout disconnects its subscriber,
+    // so beyond the senders' current writes only writes to already dropped clients can hold a thread
+    private static ExecutorService newWriter() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "space-stream-write-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Set when the subscriber needs the full list rather than the next diff
+        private volatile boolean resync = true;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        }
+    }
+}
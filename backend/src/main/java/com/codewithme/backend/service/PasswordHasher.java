@@ -0,0 +1,103 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on its own small pool instead of on Tomcat request threads.
+ *
+ * At most {@code auth.hashing.threads} hashes run at once, so a burst of
+ * signups or credential-stuffing logins can use only that many cores and the
+ * {@code /api/space/*} traffic keeps the rest. Up to {@code auth.hashing.queue-size}
+ * more wait for a thread. Past that, the call fails at once with
+ * {@link AuthThrottledException} rather than holding a request thread.
+ */
+@Component
+public class PasswordHasher {
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordHashingProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueSize())), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("auth.hash.duration")
+                .description("Time spent in BCrypt, excluding the wait for a hashing thread")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.hash.duration")
+                .description("Time spent in BCrypt, excluding the wait for a hashing thread")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("Signups and logins refused because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes running")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthThrottledException("Too many sign-ins in progress, try again shortly", properties.getRetryAfter());
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link PasswordHasher}, bound from {@code auth.hashing.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt log rounds; each step doubles the cost of a signup or login (see PasswordHashBenchmark)
+    private int bcryptStrength = 10;
+
+    // Threads running BCrypt; the most cores signups and logins can take from the rest of the app
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    // Hashes waiting for a thread; beyond this a signup or login is refused with a 429
+    private int queueSize = 32;
+
+    // Retry-After sent with that 429
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,81 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Settings for the cache tier shared by all replicas, bound from {@code space.shared-cache.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.shared-cache")
+public class SharedCacheProperties {
+
+    // Share loaded space data through Postgres (needs the Postgres datasource)
+    private boolean enabled = false;
+
+    // Make space_shared_cache unlogged at startup; off when the schema is applied outside the boot path
+    private boolean unloggedOnStart = true;
+
+    // Name this replica holds refresh leases under; the pod name in Kubernetes
+    private String instanceId = System.getenv().getOrDefault("HOSTNAME", UUID.randomUUID().toString());
+
+    // How long other replicas leave a key to the replica loading it before loading it themselves
+    private Duration refreshLease = Duration.ofSeconds(15);
+
+    // How long a request without any copy waits for another replica's load before calling upstream itself
+    private Duration ownerWait = Duration.ofSeconds(2);
+
+    // How often the shared row is re-read during that wait
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isUnloggedOnStart() {
+        return unloggedOnStart;
+    }
+
+    public void setUnloggedOnStart(boolean unloggedOnStart) {
+        this.unloggedOnStart = unloggedOnStart;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Duration getRefreshLease() {
+        return refreshLease;
+    }
+
+    public void setRefreshLease(Duration refreshLease) {
+        this.refreshLease = refreshLease;
+    }
+
+    public Duration getOwnerWait() {
+        return ownerWait;
+    }
+
+    public void setOwnerWait(Duration ownerWait) {
+        this.ownerWait = ownerWait;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
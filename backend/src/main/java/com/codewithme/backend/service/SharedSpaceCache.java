@@ -0,0 +1,191 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SharedCacheEntry;
+import com.codewithme.backend.SharedCacheEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Second cache tier behind {@link SpaceDataCache}, shared by all replicas
+ * through the unlogged {@code space_shared_cache} table.
+ *
+ * A replica that misses or finds a stale copy in its own cache first reads the
+ * shared row, so a key loaded by any replica is loaded once for all of them.
+ * To load a key itself a replica takes the key's refresh lease; while another
+ * replica holds it, callers with no copy wait up to {@code owner-wait} for its
+ * result and background refreshes are skipped. Leases lapse after
+ * {@code refresh-lease}, so a replica that dies mid-load holds no key for long.
+ *
+ * Database failures never fail a request: reads count as misses and leases
+ * as granted, which is how a single replica behaves anyway. Outcomes are
+ * exported as {@code space_shared_cache_operations_total{operation,result}}.
+ */
+@Component
+public class SharedSpaceCache {
+    private static final Logger logger = LoggerFactory.getLogger(SharedSpaceCache.class);
+
+    private final SharedCacheProperties properties;
+    private final SpaceCacheProperties cacheProperties;
+    private final SharedCacheEntryRepository repository;
+    private final ObjectMapper objectMapper;
+    // Registered up front so operations only increment
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    public SharedSpaceCache(SharedCacheProperties properties, SpaceCacheProperties cacheProperties,
+                            SharedCacheEntryRepository repository, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheProperties = cacheProperties;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        for (String operation : List.of("find:hit", "find:miss", "find:error", "lease:acquired", "lease:denied",
+                "lease:error", "publish:stored", "publish:outdated", "publish:error")) {
+            String[] parts = operation.split(":");
+            counters.put(operation, Counter.builder("space.shared.cache.operations")
+                    .description("Shared space data cache operations, by operation and result")
+                    .tag("operation", parts[0])
+                    .tag("result", parts[1])
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        logger.info("Shared space data cache enabled for instance {}", properties.getInstanceId());
+        if (!properties.isUnloggedOnStart()) {
+            return;
+        }
+        try {
+            repository.makeUnlogged();
+        } catch (DataAccessException e) {
+            logger.warn("Could not make space_shared_cache unlogged, keeping it logged: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * The shared entry for {@code key}, or null when there is none with a body.
+     */
+    public CachedSpaceData find(String key) {
+        try {
+            SharedCacheEntry entry = repository.findById(key).orElse(null);
+            if (entry == null || entry.getPayload() == null) {
+                count("find:miss");
+                return null;
+            }
+            Object body = SpaceBodyCodec.decode(objectMapper, entry.getBodyType(),
+                    new ByteArrayInputStream(entry.getPayload()));
+            CachedSpaceData found = new CachedSpaceData(SpaceResource.valueOf(entry.getResource()), body,
+                    entry.getFetchedAt(), entry.getEtag(), entry.getUpstreamEtag());
+            count("find:hit");
+            return found;
+        } catch (DataAccessException | IOException | IllegalArgumentException e) {
+            count("find:error");
+            logger.warn("Shared cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether this replica may load {@code key} now; false while another
+     * replica holds an unexpired lease on it.
+     */
+    public boolean tryAcquireRefresh(SpaceResource resource, String key) {
+        Instant now = Instant.now();
+        try {
+            boolean acquired = repository.acquireRefreshLease(key, resource.name(), properties.getInstanceId(),
+                    now, now.plus(properties.getRefreshLease())) > 0;
+            count(acquired ? "lease:acquired" : "lease:denied");
+            return acquired;
+        } catch (DataAccessException e) {
+            count("lease:error");
+            logger.warn("Shared cache lease failed for {}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Polls for an entry fetched after {@code newerThan} (any entry when null),
+     * for up to {@code owner-wait}. Returns null if none shows up in time.
+     */
+    public CachedSpaceData awaitPublished(String key, Instant newerThan) {
+        long deadline = System.nanoTime() + properties.getOwnerWait().toNanos();
+        while (true) {
+            CachedSpaceData found = find(key);
+            if (found != null && (newerThan == null || found.getFetchedAt().isAfter(newerThan))) {
+                return found;
+            }
+            if (System.nanoTime() + properties.getPollInterval().toNanos() > deadline
+                    || Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            LockSupport.parkNanos(properties.getPollInterval().toNanos());
+        }
+    }
+
+    /**
+     * Stores {@code entry}, whose body serializes to {@code json}, for the other
+     * replicas, ending this replica's lease on the key.
+     */
+    public void publish(String key, CachedSpaceData entry, byte[] json) {
+        SpaceResource resource = entry.getResource();
+        try {
+            int stored = repository.publish(key, resource.name(), SpaceBodyCodec.typeOf(entry.getBody()), json,
+                    entry.getEtag(), entry.getUpstreamEtag(), entry.getFetchedAt(),
+                    entry.getFetchedAt().plus(cacheProperties.retentionFor(resource)));
+            count(stored > 0 ? "publish:stored" : "publish:outdated");
+        } catch (DataAccessException e) {
+            count("publish:error");
+            logger.warn("Shared cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    // After a failed load, so the next replica need not wait out the lease
+    public void release(String key) {
+        try {
+            repository.releaseRefreshLease(key, properties.getInstanceId());
+        } catch (DataAccessException e) {
+            logger.warn("Shared cache lease release failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    // Any replica may sweep; the delete is idempotent
+    @Scheduled(initialDelayString = "${space.shared-cache.cleanup-interval:5m}",
+            fixedDelayString = "${space.shared-cache.cleanup-interval:5m}")
+    public void deleteExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int deleted = repository.deleteExpired(Instant.now());
+            logger.debug("Deleted {} expired shared cache entries", deleted);
+        } catch (DataAccessException e) {
+            logger.warn("Shared cache cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private void count(String operation) {
+        counters.get(operation).increment();
+    }
+}
@@ -0,0 +1,344 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codewithme.dto.SpacePage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The single way out to the Space Devs API. Every outbound call, whether it
+ * serves a user request, the prefetcher or the mirror sync, goes through here
+ * and has to be admitted by {@link UpstreamGuard} first.
+ *
+ * Bodies are read as bytes and decoded afterwards, so the time spent waiting
+ * on the upstream ({@code space.upstream.requests}, by resource and status),
+ * the payload size ({@code space.upstream.response.size}) and the time spent
+ * decoding it ({@code space.upstream.deserialization}) are recorded apart.
+ */
+@Component
+public class SpaceApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceApiClient.class);
+    private static final String UNTYPED = "untyped";
+    private static final String TYPED = "typed";
+
+    private final RestTemplate restTemplate;
+    private final UpstreamRequestCoalescer upstreamRequestCoalescer;
+    private final UpstreamGuard upstreamGuard;
+    private final SpaceJsonParser spaceJsonParser;
+    private final ObjectProvider<HttpClient> asyncHttpClient;
+    private final SpaceHttpClientProperties httpProperties;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    // Caps async requests on the wire; extra ones wait in a bounded queue instead of blocking a thread
+    private final Semaphore asyncPermits;
+    private final BlockingQueue<PendingRequest> waitingAsyncRequests;
+    // Non-zero while some thread is draining the wait queue; later signals make it loop again
+    private final AtomicInteger drainSignals = new AtomicInteger();
+    private final Counter notModified;
+    private final Counter modified;
+
+    public SpaceApiClient(RestTemplate restTemplate, UpstreamRequestCoalescer upstreamRequestCoalescer,
+                          UpstreamGuard upstreamGuard, SpaceJsonParser spaceJsonParser,
+                          ObjectProvider<HttpClient> asyncHttpClient,
+                          SpaceHttpClientProperties httpProperties, MeterRegistry meterRegistry,
+                          @Value("${space.api.base-url:https://lldev.thespacedevs.com/2.2.0}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.upstreamRequestCoalescer = upstreamRequestCoalescer;
+        this.upstreamGuard = upstreamGuard;
+        this.spaceJsonParser = spaceJsonParser;
+        this.asyncHttpClient = asyncHttpClient;
+        this.httpProperties = httpProperties;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl;
+        this.asyncPermits = new Semaphore(httpProperties.getMaxConnections());
+        this.waitingAsyncRequests = new ArrayBlockingQueue<>(Math.max(1, httpProperties.getAsyncQueueSize()));
+        Gauge.builder("space.http.client.async.queued", waitingAsyncRequests, BlockingQueue::size)
+                .description("Async upstream requests waiting for a free slot")
+                .register(meterRegistry);
+        this.notModified = revalidationCounter(meterRegistry, "not_modified");
+        this.modified = revalidationCounter(meterRegistry, "modified");
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * GETs {@code url} and returns the decoded JSON body. Concurrent callers for
+     * the same URL share a single outbound request.
+     */
+    public Object get(String url, String what) {
+        return upstreamRequestCoalescer.execute(url, () -> upstreamGuard.call(() -> {
+            ResponseEntity<byte[]> response = exchange(url, what, new HttpHeaders());
+            return decode(what, UNTYPED, response.getBody(), spaceJsonParser::parse);
+        }));
+    }
+
+    /**
+     * Like {@link #get}, but revalidates a copy we already hold: {@code etag}
+     * (the upstream's validator for that copy, may be null) is sent as
+     * {@code If-None-Match}. On a 304 the result has no body and
+     * {@code notModified} set, and the caller keeps its copy.
+     */
+    public UpstreamBody getConditional(String url, String what, String etag) {
+        return upstreamRequestCoalescer.execute(url + "#etag=" + etag, () -> upstreamGuard.call(() -> {
+            HttpHeaders headers = new HttpHeaders();
+            if (etag != null) {
+                headers.setIfNoneMatch(etag);
+            }
+            ResponseEntity<byte[]> response = exchange(url, what, headers);
+            if (etag != null && response.getStatusCode().value() == 304) {
+                notModified.increment();
+                return new UpstreamBody(null, etag, true);
+            }
+            if (etag != null) {
+                modified.increment();
+            }
+            Object body = decode(what, UNTYPED, response.getBody(), spaceJsonParser::parse);
+            return new UpstreamBody(body, response.getHeaders().getETag(), false);
+        }));
+    }
+
+    /**
+     * GETs a list page and parses it straight into typed items, skipping every
+     * field the item type does not declare.
+     */
+    public <T> SpacePage<T> getPage(String url, String what, Class<T> itemType) {
+        String key = url + "#" + itemType.getSimpleName();
+        return upstreamRequestCoalescer.execute(key, () -> upstreamGuard.call(() -> {
+            ResponseEntity<byte[]> response = exchange(url, what, new HttpHeaders());
+            return decode(what, TYPED, response.getBody(), body -> spaceJsonParser.parsePage(body, itemType));
+        }));
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}: no thread waits while the request
+     * is on the wire, and the body is decoded on the async client's own pool.
+     */
+    public CompletableFuture<Object> getAsync(String url, String what) {
+        return upstreamRequestCoalescer.executeAsync(url, () -> sendAsync(url, what)
+                .thenApply(body -> decode(what, UNTYPED, body, spaceJsonParser::parse)));
+    }
+
+    public <T> CompletableFuture<SpacePage<T>> getPageAsync(String url, String what, Class<T> itemType) {
+        return upstreamRequestCoalescer.executeAsync(url + "#" + itemType.getSimpleName(),
+                () -> sendAsync(url, what)
+                        .thenApply(body -> decode(what, TYPED, body, page -> spaceJsonParser.parsePage(page, itemType))));
+    }
+
+    private ResponseEntity<byte[]> exchange(String url, String what, HttpHeaders headers) {
+        logger.info("Fetching {} from URL: {}", what, url);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        long started = System.nanoTime();
+        try {
+            ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                    byte[].class);
+            recordUpstreamCall(what, response.getStatusCode().value(), started);
+            logger.info("{} API response status: {}", what, response.getStatusCode());
+            return response;
+        } catch (HttpStatusCodeException e) {
+            recordUpstreamCall(what, e.getStatusCode().value(), started);
+            throw e;
+        } catch (RuntimeException e) {
+            recordUpstreamCall(what, 0, started);
+            throw e;
+        }
+    }
+
+    private <T> T decode(String what, String format, byte[] body, BodyDecoder<T> decoder) {
+        DistributionSummary.builder("space.upstream.response.size")
+                .description("Decoded size of upstream response bodies")
+                .baseUnit("bytes")
+                .tag("resource", what)
+                .register(meterRegistry)
+                .record(body != null ? body.length : 0);
+        long started = System.nanoTime();
+        try {
+            return decoder.decode(body != null ? body : new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            Timer.builder("space.upstream.deserialization")
+                    .description("Time spent turning upstream response bodies into objects")
+                    .tag("resource", what)
+                    .tag("format", format)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // status is 0 when no response arrived (connect failure, timeout, reset)
+    private void recordUpstreamCall(String what, int status, long started) {
+        Timer.builder("space.upstream.requests")
+                .description("Upstream calls from sending the request to the last body byte, excluding decoding")
+                .tag("resource", what)
+                .tag("status", status == 0 ? "none" : String.valueOf(status))
+                .tag("outcome", outcomeOf(status))
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcomeOf(int status) {
+        if (status == 0) {
+            return "io_error";
+        }
+        if (status >= 500) {
+            return "server_error";
+        }
+        return status >= 400 ? "client_error" : "success";
+    }
+
+    private CompletableFuture<byte[]> sendAsync(String url, String what) {
+        return upstreamGuard.callAsync(() -> enqueue(url, what));
+    }
+
+    // An HTTP/2 connection fails requests beyond the server's stream limit rather than queueing them
+    private CompletableFuture<byte[]> enqueue(String url, String what) {
+        PendingRequest pending = new PendingRequest(url, what, System.nanoTime(), new CompletableFuture<>());
+        if (!waitingAsyncRequests.offer(pending)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Too many upstream requests waiting (" + httpProperties.getAsyncQueueSize() + ")"));
+        }
+        drainWaitingAsyncRequests();
+        return pending.result();
+    }
+
+    // Loops rather than recursing when a request completes inline and frees its slot
+    private void drainWaitingAsyncRequests() {
+        if (drainSignals.getAndIncrement() != 0) {
+            return;
+        }
+        int signals = 1;
+        do {
+            while (!waitingAsyncRequests.isEmpty() && asyncPermits.tryAcquire()) {
+                PendingRequest next = waitingAsyncRequests.poll();
+                if (next == null) {
+                    asyncPermits.release();
+                    break;
+                }
+                start(next);
+            }
+            signals = drainSignals.addAndGet(-signals);
+        } while (signals != 0);
+    }
+
+    private void start(PendingRequest pending) {
+        long waitedNanos = System.nanoTime() - pending.enqueuedAt();
+        if (pending.result().isDone() || waitedNanos >= httpProperties.getTotalTimeout().toNanos()) {
+            // The caller has given up by now, don't spend an upstream call on it
+            asyncPermits.release();
+            pending.result().completeExceptionally(new TimeoutException(
+                    "Waited " + TimeUnit.NANOSECONDS.toMillis(waitedNanos) + " ms for an upstream slot"));
+            return;
+        }
+        CompletableFuture<byte[]> sent;
+        try {
+            sent = startAsync(pending.url(), pending.what());
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((body, error) -> {
+            asyncPermits.release();
+            if (error != null) {
+                pending.result().completeExceptionally(error);
+            } else {
+                pending.result().complete(body);
+            }
+            drainWaitingAsyncRequests();
+        });
+    }
+
+    private CompletableFuture<byte[]> startAsync(String url, String what) {
+        logger.info("Fetching {} asynchronously from URL: {}", what, url);
+        URI uri = URI.create(url);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(httpProperties.getTotalTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        long started = System.nanoTime();
+        Timer ttfb = Timer.builder("space.http.client.ttfb")
+                .description("Time from sending the request to receiving the response head")
+                .tag("host", uri.getHost())
+                .register(meterRegistry);
+        return asyncHttpClient.getObject()
+                .sendAsync(request, responseInfo -> {
+                    // Invoked once the status line and headers have arrived
+                    ttfb.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return HttpResponse.BodySubscribers.ofByteArray();
+                })
+                .whenComplete((response, error) -> recordUpstreamCall(what, response != null ? response.statusCode() : 0,
+                        started))
+                .thenApply(response -> {
+                    logger.info("{} API response status: {}", what, response.statusCode());
+                    return checkStatus(response);
+                });
+    }
+
+    // Same failures the RestTemplate's default error handler raises
+    private static byte[] checkStatus(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status >= 400 && status < 500) {
+            throw HttpClientErrorException.create(HttpStatusCode.valueOf(status), "Upstream returned " + status,
+                    headersOf(response), response.body(), null);
+        }
+        if (status >= 500) {
+            throw HttpServerErrorException.create(HttpStatusCode.valueOf(status), "Upstream returned " + status,
+                    headersOf(response), response.body(), null);
+        }
+        return response.body();
+    }
+
+    private static HttpHeaders headersOf(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return headers;
+    }
+
+    private static Counter revalidationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("space.http.client.revalidations")
+                .description("Conditional upstream requests, by whether the cached copy was still current")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private interface BodyDecoder<T> {
+        T decode(byte[] body) throws IOException;
+    }
+
+    private record PendingRequest(String url, String what, long enqueuedAt, CompletableFuture<byte[]> result) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the detail batch endpoint, bound from {@code space.batch.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.batch")
+public class SpaceBatchProperties {
+
+    // Most ids accepted in one request
+    private int maxIds = 50;
+
+    // Ids of one batch resolved concurrently, the request thread included
+    private int parallelism = 4;
+
+    // Shared worker threads for all blocking batches
+    private int threads = 8;
+
+    // Worker tasks that may wait for a thread; beyond that the request thread does the work
+    private int queueSize = 100;
+
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    public void setMaxIds(int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+}
@@ -0,0 +1,190 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpaceBatchItem;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves several detail records of one resource in a single request. Each
+ * batch runs at most {@code space.batch.parallelism} lookups at a time, so a
+ * batch of 50 uncached ids cannot flood the upstream; ids already cached are
+ * answered without an upstream call. A failing id only fails its own entry.
+ */
+@Service
+public class SpaceBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceBatchService.class);
+    // Launch ids are UUIDs, everything else is numeric; nothing else may reach an upstream URL
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final SpaceDataService spaceDataService;
+    private final SpaceBatchProperties properties;
+    private final ExecutorService executor;
+
+    public SpaceBatchService(SpaceDataService spaceDataService, SpaceBatchProperties properties) {
+        this.spaceDataService = spaceDataService;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, properties.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueSize())), runnable -> {
+                    Thread thread = new Thread(runnable, "space-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Loads the detail records of {@code listResource} (e.g. launches) for
+     * {@code ids}, blocking until every entry is resolved. Duplicate ids are
+     * answered once; the result follows request order.
+     */
+    public List<SpaceBatchItem> getDetails(SpaceResource listResource, List<String> ids) {
+        SpaceResource resource = detailResourceOf(listResource);
+        List<String> distinct = distinctIds(ids);
+        SpaceBatchItem[] items = new SpaceBatchItem[distinct.size()];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < distinct.size()) {
+                items[i] = resolve(resource, distinct.get(i));
+            }
+        };
+
+        // The request thread is one of the workers, so a full pool only slows the batch down
+        List<CompletableFuture<Void>> helpers = new ArrayList<>();
+        for (int w = 1; w < Math.min(properties.getParallelism(), distinct.size()); w++) {
+            try {
+                helpers.add(CompletableFuture.runAsync(worker, executor));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        CompletableFuture.allOf(helpers.toArray(new CompletableFuture[0])).join();
+        return Arrays.asList(items);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getDetails}, used when
+     * {@code space.execution.mode=async}.
+     */
+    public CompletableFuture<List<SpaceBatchItem>> getDetailsAsync(SpaceResource listResource, List<String> ids) {
+        SpaceResource resource = detailResourceOf(listResource);
+        List<String> distinct = distinctIds(ids);
+        SpaceBatchItem[] items = new SpaceBatchItem[distinct.size()];
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.max(1, Math.min(properties.getParallelism(), distinct.size()));
+        CompletableFuture<?>[] chains = new CompletableFuture[workers];
+        for (int w = 0; w < workers; w++) {
+            chains[w] = resolveNextAsync(resource, distinct, items, next);
+        }
+        return CompletableFuture.allOf(chains).thenApply(done -> Arrays.asList(items));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Each chain picks up the next unclaimed id when its previous lookup completes
+    private CompletableFuture<Void> resolveNextAsync(SpaceResource resource, List<String> ids,
+                                                     SpaceBatchItem[] items, AtomicInteger next) {
+        int i = next.getAndIncrement();
+        if (i >= ids.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String id = ids.get(i);
+        if (!VALID_ID.matcher(id).matches()) {
+            items[i] = invalid(id);
+            return resolveNextAsync(resource, ids, items, next);
+        }
+        CompletableFuture<SpaceDataResult> lookup;
+        try {
+            lookup = spaceDataService.fetchDetailsAsync(resource, id);
+        } catch (RuntimeException e) {
+            lookup = CompletableFuture.failedFuture(e);
+        }
+        return lookup.handle((result, error) -> items[i] = error == null ? found(id, result) : failed(resource, id, error))
+                .thenCompose(item -> resolveNextAsync(resource, ids, items, next));
+    }
+
+    private SpaceBatchItem resolve(SpaceResource resource, String id) {
+        if (!VALID_ID.matcher(id).matches()) {
+            return invalid(id);
+        }
+        try {
+            return found(id, spaceDataService.fetchDetails(resource, id));
+        } catch (RuntimeException e) {
+            return failed(resource, id, e);
+        }
+    }
+
+    private List<String> distinctIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(id -> id == null);
+        if (distinct.size() > properties.getMaxIds()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxIds() + " ids per batch");
+        }
+        return distinct;
+    }
+
+    private static SpaceResource detailResourceOf(SpaceResource listResource) {
+        SpaceResource resource = listResource != null ? listResource.getDetailResource() : null;
+        if (resource == null) {
+            throw new IllegalArgumentException(listResource + " has no detail records");
+        }
+        return resource;
+    }
+
+    private static SpaceBatchItem found(String id, SpaceDataResult result) {
+        return new SpaceBatchItem(id, 200, result.getBody(), result.getAgeSeconds(),
+                result.isStale() ? result.getStaleness().getSeconds() : null, null);
+    }
+
+    private static SpaceBatchItem invalid(String id) {
+        return SpaceBatchItem.failed(id, 400, "Invalid id");
+    }
+
+    private static SpaceBatchItem failed(SpaceResource resource, String id, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.debug("Batch lookup of {} {} failed: {}", resource.getKey(), id, cause.getMessage());
+        return SpaceBatchItem.failed(id, statusFor(cause), cause.getMessage());
+    }
+
+    // Upstream 4xx (404 above all) pass through, calls held back by the guard are 503,
+    // everything else is a gateway error
+    private static int statusFor(Throwable cause) {
+        if (cause instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().value();
+        }
+        if (cause instanceof RejectedExecutionException || cause instanceof UpstreamUnavailableException) {
+            return 503;
+        }
+        if (cause instanceof TimeoutException || cause instanceof ResourceAccessException) {
+            return 504;
+        }
+        return 502;
+    }
+}
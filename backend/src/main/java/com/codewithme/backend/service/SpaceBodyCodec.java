@@ -0,0 +1,56 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * How cached bodies are stored outside the JVM ({@link SharedSpaceCache},
+ * {@link SpaceDataSnapshot}): as JSON plus a type tag, "json" for untyped
+ * bodies or "page:<item class>" for typed list pages, so they read back as
+ * the same Java types.
+ */
+final class SpaceBodyCodec {
+    private static final String JSON = "json";
+    private static final String PAGE = "page";
+    private static final String DTO_PACKAGE = SpacePage.class.getPackageName() + ".";
+
+    private SpaceBodyCodec() {
+    }
+
+    // Typed pages keep their item type; an empty one reads back the same without it
+    static String typeOf(Object body) {
+        if (body instanceof SpacePage<?> page) {
+            return page.results() == null || page.results().isEmpty()
+                    ? PAGE : PAGE + ":" + page.results().get(0).getClass().getName();
+        }
+        return JSON;
+    }
+
+    static Object decode(ObjectMapper objectMapper, String type, InputStream json) throws IOException {
+        if (type == null || JSON.equals(type)) {
+            return objectMapper.readValue(json, Object.class);
+        }
+        if (PAGE.equals(type)) {
+            return objectMapper.readValue(json, SpacePage.class);
+        }
+        if (!type.startsWith(PAGE + ":")) {
+            throw new IllegalArgumentException("Unknown body type " + type);
+        }
+        String itemType = type.substring(PAGE.length() + 1);
+        // Only our own DTOs, so a tampered row or file cannot make Jackson instantiate arbitrary classes
+        if (!itemType.startsWith(DTO_PACKAGE)) {
+            throw new IllegalArgumentException("Unexpected item type " + itemType);
+        }
+        try {
+            JavaType pageType = objectMapper.getTypeFactory()
+                    .constructParametricType(SpacePage.class, Class.forName(itemType));
+            return objectMapper.readValue(json, pageType);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown item type " + itemType, e);
+        }
+    }
+}
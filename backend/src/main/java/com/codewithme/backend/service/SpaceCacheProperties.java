@@ -0,0 +1,92 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for the space data cache, bound from {@code space.cache.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.cache")
+public class SpaceCacheProperties {
+
+    // Upper bound on the number of cached upstream responses across all resources
+    private long maximumSize = 2000;
+
+    // Per-resource TTL overrides, keyed by SpaceResource#getKey()
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    // How long past its TTL an entry is still served immediately while it is refreshed in the background
+    private Duration staleWhileRevalidate = Duration.ZERO;
+
+    // How long past its TTL an entry is still served when the upstream call fails
+    private Duration staleIfError = Duration.ZERO;
+
+    // Threads used for background revalidation of stale entries
+    private int refreshThreads = 2;
+
+    // Background revalidations waiting for a refresh thread; further ones are skipped until a later request
+    private int refreshQueueSize = 100;
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Map<String, Duration> getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Map<String, Duration> ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Duration getStaleIfError() {
+        return staleIfError;
+    }
+
+    public void setStaleIfError(Duration staleIfError) {
+        this.staleIfError = staleIfError;
+    }
+
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    public void setRefreshThreads(int refreshThreads) {
+        this.refreshThreads = refreshThreads;
+    }
+
+    public int getRefreshQueueSize() {
+        return refreshQueueSize;
+    }
+
+    public void setRefreshQueueSize(int refreshQueueSize) {
+        this.refreshQueueSize = refreshQueueSize;
+    }
+
+    public Duration ttlFor(SpaceResource resource) {
+        return ttl.getOrDefault(resource.getKey(), resource.getDefaultTtl());
+    }
+
+    // Entries are retained for the longest of the two stale windows after their TTL
+    public Duration retentionFor(SpaceResource resource) {
+        Duration staleWindow = staleWhileRevalidate.compareTo(staleIfError) > 0 ? staleWhileRevalidate : staleIfError;
+        return ttlFor(resource).plus(staleWindow);
+    }
+}
@@ -0,0 +1,512 @@
+package com.codewithme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for Space Devs responses, keyed by upstream URL.
+ * Entries expire according to the TTL of their {@link SpaceResource}, and the
+ * whole cache is size-bounded so old pages are evicted under pressure.
+ *
+ * When {@code space.cache.stale-while-revalidate} is set, an entry that is past
+ * its TTL but inside that window is served immediately and refreshed in the
+ * background. When {@code space.cache.stale-if-error} is set, an expired entry
+ * inside that window is served if the upstream call fails.
+ *
+ * Caffeine's own statistics are exported as {@code cache_*{cache="spaceData"}};
+ * per-resource hit/miss/stale and eviction counters are exported as
+ * {@code space_cache_requests_total} and {@code space_cache_evictions_total}.
+ *
+ * Every entry carries a strong ETag, the hash of its JSON serialization,
+ * computed once when the entry is stored. A loader may return an
+ * {@link UpstreamBody} to keep the upstream's validator with the entry.
+ *
+ * With {@code space.shared-cache.enabled} this cache is the per-replica tier in
+ * front of {@link SharedSpaceCache}: entries another replica loaded are adopted
+ * (counted as {@code shared}) instead of being fetched again, and a blocking
+ * load or refresh first takes the key's refresh lease so only one replica calls
+ * upstream for it. The async path adopts and publishes but does not wait on leases.
+ *
+ * Entries put back by {@link SpaceDataSnapshot} at startup are kept until replaced:
+ * once past their TTL they are served (counted as {@code snapshot}) while a
+ * background refresh replaces them, however old they are.
+ */
+@Component
+public class SpaceDataCache {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceDataCache.class);
+    static final String CACHE_NAME = "spaceData";
+
+    private final SpaceCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    // Registered up front so lookups and evictions only increment
+    private final Map<SpaceResource, Map<Lookup, Counter>> requestCounters = new EnumMap<>(SpaceResource.class);
+    private final Map<SpaceResource, Map<RemovalCause, Counter>> evictionCounters = new EnumMap<>(SpaceResource.class);
+    private final Cache<String, CachedSpaceData> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+    // Told about every newly stored body (not revalidated copies), e.g. to keep the search index current
+    private final List<BiConsumer<SpaceResource, Object>> storeListeners = new CopyOnWriteArrayList<>();
+    // Null when this replica keeps its cache to itself
+    private final SharedSpaceCache shared;
+
+    public SpaceDataCache(SpaceCacheProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this(properties, meterRegistry, objectMapper, null);
+    }
+
+    @Autowired
+    public SpaceDataCache(SpaceCacheProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                          SharedSpaceCache shared) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.shared = shared != null && shared.isEnabled() ? shared : null;
+        registerCounters(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new ResourceTtlExpiry(properties))
+                .evictionListener(this::onEviction)
+                .recordStats()
+                .build();
+        this.refreshExecutor = newRefreshExecutor(properties.getRefreshThreads(), properties.getRefreshQueueSize());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        logger.info("Space data cache initialized with maximumSize={}, staleWhileRevalidate={}, staleIfError={}",
+                properties.getMaximumSize(), properties.getStaleWhileRevalidate(), properties.getStaleIfError());
+    }
+
+    /**
+     * Returns the cached body for {@code key}, or calls {@code loader} and caches
+     * its result on a miss. Loader exceptions propagate and nothing is cached,
+     * unless a stale copy may be served in its place.
+     */
+    public SpaceDataResult get(SpaceResource resource, String key, Supplier<Object> loader) {
+        CachedSpaceData local = cache.getIfPresent(key);
+        CachedSpaceData cached = adoptShared(key, local);
+        Duration staleness = cached != null ? stalenessOf(cached) : Duration.ZERO;
+
+        if (cached != null && staleness.isZero()) {
+            Lookup hit = cached == local ? Lookup.HIT : Lookup.SHARED;
+            requestCounter(resource, hit).increment();
+            logger.debug("Cache {} for {} ({})", hit.tag(), key, resource.getKey());
+            return resultOf(cached, Duration.ZERO, hit);
+        }
+
+        if (cached != null && cached.isRestored()) {
+            requestCounter(resource, Lookup.SNAPSHOT).increment();
+            logger.debug("Serving {} from the startup snapshot while refreshing", key);
+            refreshInBackground(resource, key, loader);
+            return resultOf(cached, staleness, Lookup.SNAPSHOT);
+        }
+
+        if (cached != null && staleness.compareTo(properties.getStaleWhileRevalidate()) <= 0) {
+            requestCounter(resource, Lookup.STALE).increment();
+            logger.debug("Serving stale {} ({}s past TTL) while revalidating", key, staleness.getSeconds());
+            refreshInBackground(resource, key, loader);
+            return resultOf(cached, staleness, Lookup.STALE);
+        }
+
+        requestCounter(resource, Lookup.MISS).increment();
+        try {
+            return load(resource, key, loader);
+        } catch (RuntimeException e) {
+            if (cached != null && staleness.compareTo(properties.getStaleIfError()) <= 0) {
+                requestCounter(resource, Lookup.STALE_ON_ERROR).increment();
+                logger.warn("Upstream failed for {}, serving copy {}s past TTL: {}",
+                        key, staleness.getSeconds(), e.getMessage());
+                return resultOf(cached, staleness, Lookup.STALE_ON_ERROR);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}. Hits and stale hits complete
+     * immediately; on a miss the returned future completes when the loader's does.
+     */
+    public CompletableFuture<SpaceDataResult> getAsync(SpaceResource resource, String key,
+                                                       Supplier<CompletableFuture<Object>> loader) {
+        CachedSpaceData local = cache.getIfPresent(key);
+        CachedSpaceData cached = adoptShared(key, local);
+        Duration staleness = cached != null ? stalenessOf(cached) : Duration.ZERO;
+
+        if (cached != null && staleness.isZero()) {
+            Lookup hit = cached == local ? Lookup.HIT : Lookup.SHARED;
+            requestCounter(resource, hit).increment();
+            return CompletableFuture.completedFuture(resultOf(cached, Duration.ZERO, hit));
+        }
+
+        if (cached != null && cached.isRestored()) {
+            requestCounter(resource, Lookup.SNAPSHOT).increment();
+            refreshInBackground(resource, key, () -> loader.get().join());
+            return CompletableFuture.completedFuture(resultOf(cached, staleness, Lookup.SNAPSHOT));
+        }
+
+        if (cached != null && staleness.compareTo(properties.getStaleWhileRevalidate()) <= 0) {
+            requestCounter(resource, Lookup.STALE).increment();
+            refreshInBackground(resource, key, () -> loader.get().join());
+            return CompletableFuture.completedFuture(
+                    resultOf(cached, staleness, Lookup.STALE));
+        }
+
+        requestCounter(resource, Lookup.MISS).increment();
+        CompletableFuture<Object> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        return loading.handle((body, error) -> {
+            if (error == null) {
+                return store(resource, key, body);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cached != null && staleness.compareTo(properties.getStaleIfError()) <= 0) {
+                requestCounter(resource, Lookup.STALE_ON_ERROR).increment();
+                logger.warn("Upstream failed for {}, serving copy {}s past TTL: {}",
+                        key, staleness.getSeconds(), cause.getMessage());
+                return resultOf(cached, staleness, Lookup.STALE_ON_ERROR);
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Calls {@code loader} and stores the result regardless of what is cached.
+     */
+    public SpaceDataResult refresh(SpaceResource resource, String key, Supplier<Object> loader) {
+        return load(resource, key, loader);
+    }
+
+    public void addStoreListener(BiConsumer<SpaceResource, Object> listener) {
+        storeListeners.add(listener);
+    }
+
+    /**
+     * The entry for {@code key}, fresh or not, without counting a lookup.
+     */
+    public CachedSpaceData peek(String key) {
+        return cache.policy().getIfPresentQuietly(key);
+    }
+
+    /**
+     * A point-in-time copy of every entry, fresh or not, for {@link SpaceDataSnapshot}.
+     */
+    public Map<String, CachedSpaceData> entries() {
+        return Map.copyOf(cache.asMap());
+    }
+
+    /**
+     * Puts back an entry read from the startup snapshot, unless {@code key} was
+     * already loaded. Returns whether it was added.
+     */
+    public boolean restore(String key, CachedSpaceData entry) {
+        CachedSpaceData restored = new CachedSpaceData(entry.getResource(), entry.getBody(), entry.getFetchedAt(),
+                entry.getEtag(), entry.getUpstreamEtag(), true);
+        if (cache.asMap().putIfAbsent(key, restored) != null) {
+            return false;
+        }
+        notifyStored(restored.getResource(), key, restored.getBody());
+        return true;
+    }
+
+    public boolean isFresh(String key) {
+        CachedSpaceData cached = cache.policy().getIfPresentQuietly(key);
+        return cached != null && stalenessOf(cached).isZero();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private SpaceDataResult load(SpaceResource resource, String key, Supplier<Object> loader) {
+        if (shared != null && !shared.tryAcquireRefresh(resource, key)) {
+            // Another replica is loading this key; take its result rather than calling upstream as well
+            CachedSpaceData current = cache.policy().getIfPresentQuietly(key);
+            CachedSpaceData published = shared.awaitPublished(key, current != null ? current.getFetchedAt() : null);
+            if (published != null) {
+                adopt(key, published);
+                requestCounter(resource, Lookup.SHARED).increment();
+                return resultOf(published, stalenessOf(published), Lookup.SHARED);
+            }
+            logger.debug("No shared result for {} in time, loading it here", key);
+        }
+        return loadLeased(resource, key, loader);
+    }
+
+    // Once the refresh lease is held (or the cache is not shared); publishing the result ends the lease
+    private SpaceDataResult loadLeased(SpaceResource resource, String key, Supplier<Object> loader) {
+        try {
+            return store(resource, key, loader.get());
+        } catch (RuntimeException e) {
+            if (shared != null) {
+                shared.release(key);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The shared entry for {@code key} when it is fresher than {@code local},
+     * after putting it in this replica's cache; otherwise {@code local}.
+     */
+    private CachedSpaceData adoptShared(String key, CachedSpaceData local) {
+        if (shared == null || (local != null && stalenessOf(local).isZero())) {
+            return local;
+        }
+        CachedSpaceData published = shared.find(key);
+        if (published == null || (local != null && !published.getFetchedAt().isAfter(local.getFetchedAt()))) {
+            return local;
+        }
+        adopt(key, published);
+        return published;
+    }
+
+    private void adopt(String key, CachedSpaceData published) {
+        cache.put(key, published);
+        notifyStored(published.getResource(), key, published.getBody());
+    }
+
+    private SpaceDataResult store(SpaceResource resource, String key, Object loaded) {
+        Instant fetchedAt = Instant.now();
+        Object body = loaded instanceof UpstreamBody upstream ? upstream.body() : loaded;
+        int upstreamStatus = loaded instanceof UpstreamBody upstream ? (upstream.notModified() ? 304 : 200) : 0;
+        if (body == null) {
+            return new SpaceDataResult(null, fetchedAt, Duration.ZERO, null, Lookup.MISS.tag(), upstreamStatus);
+        }
+        String upstreamEtag = loaded instanceof UpstreamBody upstream ? upstream.etag() : null;
+        // Serialized once when shared: the bytes are both hashed and published
+        byte[] json = shared != null ? toJson(body) : null;
+        // A revalidated entry keeps its body, so its ETag need not be hashed again
+        CachedSpaceData previous = cache.policy().getIfPresentQuietly(key);
+        String etag = previous != null && previous.getBody() == body ? previous.getEtag()
+                : json != null ? etagOf(json) : etagOf(body);
+        CachedSpaceData stored = new CachedSpaceData(resource, body, fetchedAt, etag, upstreamEtag);
+        cache.put(key, stored);
+        if (previous == null || previous.getBody() != body) {
+            notifyStored(resource, key, body);
+        }
+        if (json != null) {
+            shared.publish(key, stored, json);
+        } else if (shared != null) {
+            shared.release(key);
+        }
+        return new SpaceDataResult(body, fetchedAt, Duration.ZERO, etag, Lookup.MISS.tag(), upstreamStatus);
+    }
+
+    // A failing listener must not fail the request that loaded the data
+    private void notifyStored(SpaceResource resource, String key, Object body) {
+        for (BiConsumer<SpaceResource, Object> listener : storeListeners) {
+            try {
+                listener.accept(resource, body);
+            } catch (RuntimeException e) {
+                logger.warn("Store listener failed for {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private static SpaceDataResult resultOf(CachedSpaceData cached, Duration staleness, Lookup lookup) {
+        return new SpaceDataResult(cached.getBody(), cached.getFetchedAt(), staleness, cached.getEtag(), lookup.tag(), 0);
+    }
+
+    private String etagOf(Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                objectMapper.writeValue(out, body);
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn("Could not compute an ETag: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Same value as etagOf(body) for the bytes the body serializes to
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            logger.warn("Could not compute an ETag: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            logger.warn("Could not serialize {} for the shared cache: {}", body.getClass().getSimpleName(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private void refreshInBackground(SpaceResource resource, String key, Supplier<Object> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    if (shared != null && !shared.tryAcquireRefresh(resource, key)) {
+                        // Another replica is refreshing it; a later lookup adopts its result
+                        return;
+                    }
+                    loadLeased(resource, key, loader);
+                    logger.debug("Revalidated {}", key);
+                } catch (UpstreamUnavailableException e) {
+                    // Held back by the guard (or offline); the copy keeps being served
+                    logger.debug("Background refresh of {} not made: {}", key, e.getMessage());
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh failed for {}: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh queue is full; a later request will try again
+            refreshing.remove(key);
+        }
+    }
+
+    private Duration stalenessOf(CachedSpaceData cached) {
+        Instant freshUntil = cached.getFetchedAt().plus(properties.ttlFor(cached.getResource()));
+        Instant now = Instant.now();
+        return now.isAfter(freshUntil) ? Duration.between(freshUntil, now) : Duration.ZERO;
+    }
+
+    private static ExecutorService newRefreshExecutor(int threads, int queueSize) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "space-cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private void registerCounters(MeterRegistry meterRegistry) {
+        for (SpaceResource resource : SpaceResource.values()) {
+            Map<Lookup, Counter> lookups = new EnumMap<>(Lookup.class);
+            for (Lookup lookup : Lookup.values()) {
+                lookups.put(lookup, Counter.builder("space.cache.requests")
+                        .description("Space data cache lookups, by resource and result")
+                        .tag("resource", resource.getKey())
+                        .tag("result", lookup.tag())
+                        .register(meterRegistry));
+            }
+            requestCounters.put(resource, lookups);
+
+            Map<RemovalCause, Counter> evictions = new EnumMap<>(RemovalCause.class);
+            for (RemovalCause cause : RemovalCause.values()) {
+                if (cause.wasEvicted()) {
+                    evictions.put(cause, Counter.builder("space.cache.evictions")
+                            .description("Space data cache entries evicted, by resource and cause")
+                            .tag("resource", resource.getKey())
+                            .tag("cause", cause.name().toLowerCase())
+                            .register(meterRegistry));
+                }
+            }
+            evictionCounters.put(resource, evictions);
+        }
+    }
+
+    private void onEviction(String key, CachedSpaceData value, RemovalCause cause) {
+        if (value == null) {
+            return;
+        }
+        Counter counter = evictionCounters.get(value.getResource()).get(cause);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private Counter requestCounter(SpaceResource resource, Lookup result) {
+        return requestCounters.get(resource).get(result);
+    }
+
+    private enum Lookup {
+        HIT, SHARED, STALE, SNAPSHOT, MISS, STALE_ON_ERROR;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * Removes each entry once its resource TTL plus the stale window has passed,
+     * counted from the last write. Restored entries stay until replaced or
+     * evicted for size.
+     */
+    private static class ResourceTtlExpiry implements Expiry<String, CachedSpaceData> {
+        private final SpaceCacheProperties properties;
+
+        ResourceTtlExpiry(SpaceCacheProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedSpaceData value, long currentTime) {
+            return retentionOf(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedSpaceData value, long currentTime, long currentDuration) {
+            return retentionOf(value);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedSpaceData value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long retentionOf(CachedSpaceData value) {
+            return value.isRestored() ? Long.MAX_VALUE : properties.retentionFor(value.getResource()).toNanos();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.AgencySummary;
+import com.codewithme.dto.AstronautSummary;
+import com.codewithme.dto.LaunchSummary;
+import com.codewithme.dto.ProgramSummary;
+import com.codewithme.dto.SpacePage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the collections the frontend asks for warm in {@link SpaceDataCache}.
+ * Each run refreshes the configured list pages, then fetches the detail records
+ * they reference with bounded parallelism, never spending more than
+ * {@code space.prefetch.max-upstream-calls-per-run} upstream calls.
+ */
+@Component
+@ConditionalOnProperty(prefix = "space.prefetch", name = "enabled", havingValue = "true")
+public class SpaceDataPrefetcher {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceDataPrefetcher.class);
+
+    private final SpaceDataService spaceDataService;
+    private final SpacePrefetchProperties properties;
+    private final ExecutorService detailExecutor;
+    private final Counter upstreamCalls;
+    private final Counter budgetExhausted;
+    private final AtomicLong lastRunDurationMillis = new AtomicLong();
+    private final AtomicLong lastCompletedAtMillis = new AtomicLong(System.currentTimeMillis());
+
+    public SpaceDataPrefetcher(SpaceDataService spaceDataService, SpacePrefetchProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.spaceDataService = spaceDataService;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.detailExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "space-prefetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.upstreamCalls = Counter.builder("space.prefetch.upstream.calls")
+                .description("Upstream calls made by the prefetch scheduler")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("space.prefetch.budget.exhausted")
+                .description("Prefetch runs that stopped early because the upstream budget was spent")
+                .register(meterRegistry);
+        TimeGauge.builder("space.prefetch.last.duration", lastRunDurationMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Duration of the last prefetch run")
+                .register(meterRegistry);
+        TimeGauge.builder("space.prefetch.lag", lastCompletedAtMillis, TimeUnit.MILLISECONDS,
+                        completedAt -> System.currentTimeMillis() - completedAt.get())
+                .description("Time since the last prefetch run completed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${space.prefetch.initial-delay:30s}",
+            fixedDelayString = "${space.prefetch.interval:5m}")
+    public void prefetch() {
+        long start = System.currentTimeMillis();
+        AtomicInteger budget = new AtomicInteger(properties.getMaxUpstreamCallsPerRun());
+        Map<SpaceResource, Set<String>> detailIds = new LinkedHashMap<>();
+
+        for (String key : properties.getResources()) {
+            SpaceResource resource = SpaceResource.fromKey(key);
+            if (resource == null || !resource.isList()) {
+                logger.warn("Ignoring unknown prefetch resource '{}'", key);
+                continue;
+            }
+            if (budget.getAndDecrement() <= 0) {
+                budgetExhausted.increment();
+                logger.warn("Prefetch budget of {} upstream calls spent, skipping remaining lists",
+                        properties.getMaxUpstreamCallsPerRun());
+                break;
+            }
+            AtomicBoolean upstreamCalled = new AtomicBoolean();
+            try {
+                SpaceDataResult result = spaceDataService.refreshList(resource, properties.getLimit(), upstreamCalled);
+                detailIds.computeIfAbsent(resource.getDetailResource(), r -> new LinkedHashSet<>())
+                        .addAll(idsOf(result.getBody()));
+            } catch (RuntimeException e) {
+                logger.warn("Prefetch of {} failed: {}", key, e.getMessage());
+            } finally {
+                settle(upstreamCalled, budget);
+            }
+        }
+
+        if (properties.isPrefetchDetails()) {
+            prefetchDetails(detailIds, budget);
+        }
+
+        long finished = System.currentTimeMillis();
+        lastRunDurationMillis.set(finished - start);
+        lastCompletedAtMillis.set(finished);
+        logger.info("Prefetch run finished in {} ms, {} upstream calls left in budget",
+                finished - start, Math.max(0, budget.get()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        detailExecutor.shutdownNow();
+    }
+
+    private void prefetchDetails(Map<SpaceResource, Set<String>> detailIds, AtomicInteger budget) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        detailIds.forEach((resource, ids) -> ids.forEach(id -> tasks.add(CompletableFuture.runAsync(() -> {
+            if (budget.getAndDecrement() <= 0) {
+                return;
+            }
+            AtomicBoolean upstreamCalled = new AtomicBoolean();
+            try {
+                // Already fresh records are skipped without a call
+                spaceDataService.prefetchDetails(resource, id, upstreamCalled);
+            } catch (RuntimeException e) {
+                logger.debug("Prefetch of {} {} failed: {}", resource.getKey(), id, e.getMessage());
+            } finally {
+                settle(upstreamCalled, budget);
+            }
+        }, detailExecutor))));
+
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        if (budget.get() < 0) {
+            budgetExhausted.increment();
+            logger.warn("Prefetch budget spent before all detail records were warmed");
+        }
+    }
+
+    // Only upstream calls count against the budget; mirror reads and skips give the slot back
+    private void settle(AtomicBoolean upstreamCalled, AtomicInteger budget) {
+        if (upstreamCalled.get()) {
+            upstreamCalls.increment();
+        } else {
+            budget.incrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> idsOf(Object page) {
+        List<String> ids = new ArrayList<>();
+        if (page instanceof SpacePage<?> typedPage) {
+            for (Object item : typedPage.results()) {
+                if (item instanceof LaunchSummary launch) {
+                    ids.add(launch.id());
+                } else if (item instanceof AstronautSummary astronaut) {
+                    ids.add(String.valueOf(astronaut.id()));
+                } else if (item instanceof AgencySummary agency) {
+                    ids.add(String.valueOf(agency.id()));
+                } else if (item instanceof ProgramSummary program) {
+                    ids.add(String.valueOf(program.id()));
+                }
+            }
+        } else if (page instanceof Map && ((Map<String, Object>) page).get("results") instanceof List<?> results) {
+            for (Object item : results) {
+                if (item instanceof Map && ((Map<String, Object>) item).get("id") != null) {
+                    ids.add(String.valueOf(((Map<String, Object>) item).get("id")));
+                }
+            }
+        }
+        return ids;
+    }
+}
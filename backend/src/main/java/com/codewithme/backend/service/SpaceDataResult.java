@@ -0,0 +1,75 @@
+package com.codewithme.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * What {@link SpaceDataService} hands back to the controller: the payload plus
+ * enough freshness information to set {@code Age}, {@code ETag} and staleness headers.
+ */
+public class SpaceDataResult {
+    private final Object body;
+    private final Instant fetchedAt;
+    private final Duration staleness;
+    private final String etag;
+    private final String cacheStatus;
+    private final int upstreamStatus;
+
+    public SpaceDataResult(Object body, Instant fetchedAt, Duration staleness) {
+        this(body, fetchedAt, staleness, null);
+    }
+
+    public SpaceDataResult(Object body, Instant fetchedAt, Duration staleness, String etag) {
+        this(body, fetchedAt, staleness, etag, null, 0);
+    }
+
+    public SpaceDataResult(Object body, Instant fetchedAt, Duration staleness, String etag,
+                           String cacheStatus, int upstreamStatus) {
+        this.body = body;
+        this.fetchedAt = fetchedAt;
+        this.staleness = staleness;
+        this.etag = etag;
+        this.cacheStatus = cacheStatus;
+        this.upstreamStatus = upstreamStatus;
+    }
+
+    public static SpaceDataResult fresh(Object body, Instant fetchedAt) {
+        return new SpaceDataResult(body, fetchedAt, Duration.ZERO);
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    // How long past its TTL this payload is; zero when fresh
+    public Duration getStaleness() {
+        return staleness;
+    }
+
+    // Strong validator of the payload, quoted; null when none could be computed
+    public String getEtag() {
+        return etag;
+    }
+
+    // How the cache answered (hit, shared, stale, snapshot, miss, stale_on_error); null when the result did not come from the cache
+    public String getCacheStatus() {
+        return cacheStatus;
+    }
+
+    // HTTP status of the upstream call made to produce this result, 0 when none was made
+    public int getUpstreamStatus() {
+        return upstreamStatus;
+    }
+
+    public boolean isStale() {
+        return !staleness.isZero();
+    }
+
+    public long getAgeSeconds() {
+        return Math.max(0, Duration.between(fetchedAt, Instant.now()).getSeconds());
+    }
+}
@@ -1,163 +1,453 @@
 package com.codewithme.backend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.codewithme.dto.AgencySummary;
+import com.codewithme.dto.AstronautSummary;
+import com.codewithme.dto.LaunchSummary;
+import com.codewithme.dto.ProgramSummary;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
+/**
+ * Serves Space Devs data from the cache, the local mirror or the upstream, in
+ * that order. Each request-facing operation is timed as {@code space.data.requests},
+ * tagged by resource, type (list or details), outcome, how the cache answered
+ * and the status of the upstream call it made, if any.
+ */
 @Service
 public class SpaceDataService {
     private static final Logger logger = LoggerFactory.getLogger(SpaceDataService.class);
-    private final RestTemplate restTemplate;
-    private final String SPACE_API_BASE_URL = "https://lldev.thespacedevs.com/2.2.0";
+    private static final String LIST = "list";
+    private static final String DETAILS = "details";
+    private final SpaceApiClient spaceApiClient;
+    private final SpaceDataCache spaceDataCache;
+    private final SpaceMirrorService spaceMirrorService;
+    private final SpaceJsonParser spaceJsonParser;
+    private final String SPACE_API_BASE_URL;
+    // Parse list pages into typed summaries instead of untyped maps
+    private final boolean typedLists;
+    // Size of the canonical list pages fetched and cached; requested pages are cut out of them
+    private final int listChunkSize;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public SpaceDataService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public SpaceDataService(SpaceApiClient spaceApiClient, SpaceDataCache spaceDataCache,
+                            SpaceMirrorService spaceMirrorService, SpaceJsonParser spaceJsonParser,
+                            MeterRegistry meterRegistry,
+                            @Value("${space.data.typed-lists:false}") boolean typedLists,
+                            @Value("${space.data.list-chunk-size:100}") int listChunkSize) {
+        this.meterRegistry = meterRegistry;
+        this.spaceApiClient = spaceApiClient;
+        this.spaceDataCache = spaceDataCache;
+        this.spaceMirrorService = spaceMirrorService;
+        this.spaceJsonParser = spaceJsonParser;
+        this.SPACE_API_BASE_URL = spaceApiClient.getBaseUrl();
+        this.typedLists = typedLists;
+        this.listChunkSize = listChunkSize;
     }
 
-    public Object getLaunches(String type, int limit) {
+    public SpaceDataResult getLaunches(String type, int offset, int limit) {
         try {
-            String url = SPACE_API_BASE_URL + "/launch/";
-            
-            // Use specific endpoints for different launch types
-            if ("upcoming".equals(type)) {
-                url += "upcoming/";
-            } else if ("previous".equals(type)) {
-                url += "previous/";
-            }
-            // For "all" or null type, use the default /launch/ endpoint
-            
-            url += "?limit=" + limit;
-            
-            logger.info("Fetching launches from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Launch API response status: {}", response.getStatusCode());
-            return response.getBody();
+            // "upcoming" and "previous" use their own endpoints, anything else the default /launch/ one
+            return timedList(SpaceResource.forLaunchType(type), offset, limit);
         } catch (Exception e) {
-            logger.error("Error fetching launches: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch launches data: " + e.getMessage());
+            throw failure("launches data", e);
         }
     }
 
-    public Object getLaunchDetails(String id) {
+    public SpaceDataResult getLaunchDetails(String id) {
         try {
-            String url = SPACE_API_BASE_URL + "/launch/" + id + "/";
-            logger.info("Fetching launch details from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Launch details API response status: {}", response.getStatusCode());
-            return response.getBody();
+            return timedDetails(SpaceResource.LAUNCH_DETAILS, id);
         } catch (Exception e) {
-            logger.error("Error fetching launch details: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch launch details: " + e.getMessage());
+            throw failure("launch details", e);
         }
     }
 
-    public Object getAstronauts(int limit) {
+    public SpaceDataResult getAstronauts(int offset, int limit) {
         try {
-            String url = SPACE_API_BASE_URL + "/astronaut/?limit=" + limit + "&format=json";
-            logger.info("Fetching astronauts from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Astronauts API response status: {}", response.getStatusCode());
-            
-            // Log the full response body for debugging
-            Object responseBody = response.getBody();
-            if (responseBody != null) {
-                logger.info("Astronauts API response body structure: {}", responseBody.getClass().getName());
-                // Log the first item if it's a map with results
-                try {
-                    if (responseBody instanceof Map) {
-                        Map<String, Object> responseMap = (Map<String, Object>) responseBody;
-                        logger.info("Astronauts API response keys: {}", responseMap.keySet());
-                        
-                        if (responseMap.containsKey("results") && responseMap.get("results") instanceof List) {
-                            List<Object> results = (List<Object>) responseMap.get("results");
-                            if (!results.isEmpty()) {
-                                Object firstItem = results.get(0);
-                                logger.info("First astronaut object keys: {}", 
-                                    firstItem instanceof Map ? ((Map<String, Object>) firstItem).keySet() : "Not a map");
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.error("Error analyzing astronaut response", e);
-                }
-            }
-            
-            return responseBody;
+            return timedList(SpaceResource.ASTRONAUTS, offset, limit);
+        } catch (Exception e) {
+            throw failure("astronauts data", e);
+        }
+    }
+
+    public SpaceDataResult getAstronautDetails(String id) {
+        try {
+            return timedDetails(SpaceResource.ASTRONAUT_DETAILS, id);
         } catch (Exception e) {
-            logger.error("Error fetching astronauts: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch astronauts data: " + e.getMessage());
+            throw failure("astronaut details", e);
         }
     }
 
-    public Object getAstronautDetails(String id) {
+    public SpaceDataResult getAgencies(int offset, int limit) {
         try {
-            String url = SPACE_API_BASE_URL + "/astronaut/" + id + "/?format=json";
-            logger.info("Fetching astronaut details from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Astronaut details API response status: {}", response.getStatusCode());
-            return response.getBody();
+            return timedList(SpaceResource.AGENCIES, offset, limit);
         } catch (Exception e) {
-            logger.error("Error fetching astronaut details: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch astronaut details: " + e.getMessage());
+            throw failure("agencies data", e);
         }
     }
 
-    public Object getAgencies(int limit) {
+    public SpaceDataResult getAgencyDetails(String id) {
         try {
-            String url = SPACE_API_BASE_URL + "/agencies/?limit=" + limit;
-            logger.info("Fetching agencies from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Agencies API response status: {}", response.getStatusCode());
-            return response.getBody();
+            return timedDetails(SpaceResource.AGENCY_DETAILS, id);
         } catch (Exception e) {
-            logger.error("Error fetching agencies: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch agencies data: " + e.getMessage());
+            throw failure("agency details", e);
         }
     }
 
-    public Object getAgencyDetails(String id) {
+    public SpaceDataResult getPrograms(int offset, int limit) {
         try {
-            String url = SPACE_API_BASE_URL + "/agencies/" + id + "/";
-            logger.info("Fetching agency details from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Agency details API response status: {}", response.getStatusCode());
-            return response.getBody();
+            return timedList(SpaceResource.PROGRAMS, offset, limit);
         } catch (Exception e) {
-            logger.error("Error fetching agency details: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch agency details: " + e.getMessage());
+            throw failure("programs data", e);
         }
     }
 
-    public Object getPrograms(int limit) {
+    public SpaceDataResult getProgramDetails(String id) {
         try {
-            String url = SPACE_API_BASE_URL + "/program/?limit=" + limit + "&format=json";
-            logger.info("Fetching programs from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Programs API response status: {}", response.getStatusCode());
-            return response.getBody();
+            return timedDetails(SpaceResource.PROGRAM_DETAILS, id);
         } catch (Exception e) {
-            logger.error("Error fetching programs: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch programs data: " + e.getMessage());
+            throw failure("program details", e);
+        }
+    }
+
+    // Upstream errors are expected (quota, outages) and get one log line; anything else keeps its stack trace
+    private static RuntimeException failure(String what, Exception e) {
+        if (e instanceof UpstreamUnavailableException unavailable) {
+            logger.warn("Not fetching {}: {}", what, e.getMessage());
+            return unavailable;
+        }
+        if (e instanceof IllegalArgumentException invalid) {
+            return invalid;
+        }
+        if (e instanceof RestClientException) {
+            logger.error("Error fetching {}: {}", what, e.getMessage());
+        } else {
+            logger.error("Error fetching {}: {}", what, e.getMessage(), e);
+        }
+        return new RuntimeException("Failed to fetch " + what + ": " + e.getMessage(), e);
+    }
+
+    /**
+     * Reloads the chunks holding the first {@code limit} items of a list and
+     * stores them in the cache, even if fresh copies are already cached. Used by
+     * the prefetch scheduler; {@code upstreamCalled} is set if a chunk had to
+     * come from the upstream rather than the mirror.
+     */
+    public SpaceDataResult refreshList(SpaceResource resource, int limit, AtomicBoolean upstreamCalled) {
+        return sliceList(0, limit, chunkOffset -> {
+            String url = listUrl(resource, chunkOffset);
+            return spaceDataCache.refresh(resource, url, listLoader(resource, url, chunkOffset, upstreamCalled));
+        });
+    }
+
+    /**
+     * Loads a detail record unless a fresh copy is already cached. Returns true
+     * if it was loaded; {@code upstreamCalled} is set if that took an upstream call.
+     */
+    public boolean prefetchDetails(SpaceResource resource, String id, AtomicBoolean upstreamCalled) {
+        String url = detailsUrl(resource, id);
+        if (spaceDataCache.isFresh(url)) {
+            return false;
+        }
+        spaceDataCache.refresh(resource, url, detailsLoader(resource, url, id, upstreamCalled));
+        return true;
+    }
+
+    /**
+     * Non-blocking counterpart of the list getters, used when
+     * {@code space.execution.mode=async}. The upstream call does not hold the
+     * caller's thread; a mirror hit is still a (local) JDBC read.
+     */
+    public CompletableFuture<SpaceDataResult> fetchListAsync(SpaceResource resource, int offset, int limit) {
+        long started = System.nanoTime();
+        int pageSize = checkPage(offset, limit);
+        int chunkOffset = offset - offset % listChunkSize;
+        return timedAsync(LIST, resource, started, fetchChunkAsync(resource, chunkOffset).thenCompose(first -> {
+            if (!needsNextChunk(first, chunkOffset, offset + pageSize)) {
+                return CompletableFuture.completedFuture(SpaceListSlicer.slice(List.of(first), chunkOffset, offset, pageSize));
+            }
+            return fetchChunkAsync(resource, chunkOffset + listChunkSize).thenApply(second ->
+                    SpaceListSlicer.slice(List.of(first, second), chunkOffset, offset, pageSize));
+        }));
+    }
+
+    private CompletableFuture<SpaceDataResult> fetchChunkAsync(SpaceResource resource, int chunkOffset) {
+        String url = listUrl(resource, chunkOffset);
+        return spaceDataCache.getAsync(resource, url, () -> {
+            Object mirrored = spaceMirrorService.findList(resource, chunkOffset, listChunkSize);
+            if (mirrored == null) {
+                return (typedLists
+                        ? spaceApiClient.getPageAsync(upstreamUrl(url), resource.getKey(), summaryTypeFor(resource))
+                                .thenApply(page -> (Object) page)
+                        : spaceApiClient.getAsync(url, resource.getKey()))
+                        .thenApply(SpaceDataService::fromUpstream);
+            }
+            if (!typedLists) {
+                return CompletableFuture.completedFuture(mirrored);
+            }
+            try {
+                return CompletableFuture.completedFuture(spaceJsonParser.convertPage(mirrored, summaryTypeFor(resource)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public CompletableFuture<SpaceDataResult> fetchDetailsAsync(SpaceResource resource, String id) {
+        long started = System.nanoTime();
+        String url = detailsUrl(resource, id);
+        return timedAsync(DETAILS, resource, started, spaceDataCache.getAsync(resource, url, () -> {
+            Object mirrored = spaceMirrorService.findDetails(resource, id);
+            return mirrored != null
+                    ? CompletableFuture.completedFuture(mirrored)
+                    : spaceApiClient.getAsync(url, resource.getKey()).thenApply(SpaceDataService::fromUpstream);
+        }));
+    }
+
+    private SpaceDataResult timedList(SpaceResource resource, int offset, int limit) {
+        return timed(LIST, resource, () -> fetchList(resource, offset, limit));
+    }
+
+    private SpaceDataResult timedDetails(SpaceResource resource, String id) {
+        return timed(DETAILS, resource, () -> fetchDetails(resource, id));
+    }
+
+    private SpaceDataResult timed(String type, SpaceResource resource, Supplier<SpaceDataResult> operation) {
+        long started = System.nanoTime();
+        try {
+            SpaceDataResult result = operation.get();
+            recordRequest(type, resource, started, result, null);
+            return result;
+        } catch (RuntimeException e) {
+            recordRequest(type, resource, started, null, e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<SpaceDataResult> timedAsync(String type, SpaceResource resource, long started,
+                                                          CompletableFuture<SpaceDataResult> operation) {
+        return operation.whenComplete((result, error) -> recordRequest(type, resource, started, result,
+                error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
+
+    private void recordRequest(String type, SpaceResource resource, long started, SpaceDataResult result,
+                               Throwable failure) {
+        int upstreamStatus = failure instanceof HttpStatusCodeException http ? http.getStatusCode().value()
+                : result != null ? result.getUpstreamStatus() : 0;
+        Timer.builder("space.data.requests")
+                .description("Space data requests as served by SpaceDataService, upstream wait included")
+                .tag("resource", resource.getKey())
+                .tag("type", type)
+                .tag("outcome", outcomeOf(failure))
+                .tag("cache", result != null && result.getCacheStatus() != null ? result.getCacheStatus() : "none")
+                .tag("upstream_status", upstreamStatus == 0 ? "none" : String.valueOf(upstreamStatus))
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof IllegalArgumentException) {
+            return "invalid";
         }
+        if (failure instanceof UpstreamUnavailableException) {
+            return "unavailable";
+        }
+        if (failure instanceof HttpStatusCodeException) {
+            return "upstream_error";
+        }
+        return failure instanceof ResourceAccessException ? "io_error" : "error";
+    }
+
+    // Lets the cache tell an upstream answer from a mirror one
+    private static Object fromUpstream(Object body) {
+        return new UpstreamBody(body, null, false);
+    }
+
+    private SpaceDataResult fetchList(SpaceResource resource, int offset, int limit) {
+        return sliceList(offset, limit, chunkOffset -> {
+            String url = listUrl(resource, chunkOffset);
+            return spaceDataCache.get(resource, url, listLoader(resource, url, chunkOffset, null));
+        });
     }
 
-    public Object getProgramDetails(String id) {
+    // A page never spans more than two chunks, since its size is capped at one chunk
+    private SpaceDataResult sliceList(int offset, int limit, IntFunction<SpaceDataResult> chunkLoader) {
+        int pageSize = checkPage(offset, limit);
+        int chunkOffset = offset - offset % listChunkSize;
+        List<SpaceDataResult> chunks = new ArrayList<>(2);
+        chunks.add(chunkLoader.apply(chunkOffset));
+        if (needsNextChunk(chunks.get(0), chunkOffset, offset + pageSize)) {
+            chunks.add(chunkLoader.apply(chunkOffset + listChunkSize));
+        }
+        return SpaceListSlicer.slice(chunks, chunkOffset, offset, pageSize);
+    }
+
+    private int checkPage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, listChunkSize);
+    }
+
+    private boolean needsNextChunk(SpaceDataResult chunk, int chunkOffset, int end) {
+        int nextChunk = chunkOffset + listChunkSize;
+        return end > nextChunk && SpaceListSlicer.hasItemsFrom(chunk.getBody(), chunkOffset, nextChunk);
+    }
+
+    /**
+     * Cached detail lookup without the error wrapping of the per-resource
+     * getters, so callers such as {@link SpaceBatchService} see the upstream
+     * status of a failure.
+     */
+    public SpaceDataResult fetchDetails(SpaceResource resource, String id) {
+        String url = detailsUrl(resource, id);
+        return spaceDataCache.get(resource, url, detailsLoader(resource, url, id, null));
+    }
+
+    private String listUrl(SpaceResource resource, int chunkOffset) {
+        String page = "?limit=" + listChunkSize + "&offset=" + chunkOffset;
+        String url = switch (resource) {
+            case LAUNCHES -> SPACE_API_BASE_URL + "/launch/" + page;
+            case UPCOMING_LAUNCHES -> SPACE_API_BASE_URL + "/launch/upcoming/" + page;
+            case PREVIOUS_LAUNCHES -> SPACE_API_BASE_URL + "/launch/previous/" + page;
+            case ASTRONAUTS -> SPACE_API_BASE_URL + "/astronaut/" + page + "&format=json";
+            case AGENCIES -> SPACE_API_BASE_URL + "/agencies/" + page;
+            case PROGRAMS -> SPACE_API_BASE_URL + "/program/" + page + "&format=json";
+            default -> throw new IllegalArgumentException(resource + " is not a list resource");
+        };
+        // Typed and untyped pages of the same URL are cached separately
+        return typedLists ? url + "#typed" : url;
+    }
+
+    private String detailsUrl(SpaceResource resource, String id) {
+        return switch (resource) {
+            case LAUNCH_DETAILS -> SPACE_API_BASE_URL + "/launch/" + id + "/";
+            case ASTRONAUT_DETAILS -> SPACE_API_BASE_URL + "/astronaut/" + id + "/?format=json";
+            case AGENCY_DETAILS -> SPACE_API_BASE_URL + "/agencies/" + id + "/";
+            case PROGRAM_DETAILS -> SPACE_API_BASE_URL + "/program/" + id + "/?format=json";
+            default -> throw new IllegalArgumentException(resource + " is not a detail resource");
+        };
+    }
+
+    private Supplier<Object> listLoader(SpaceResource resource, String url, int chunkOffset,
+                                        AtomicBoolean upstreamCalled) {
+        if (!typedLists) {
+            return loaderFor(resource, url, () -> spaceMirrorService.findList(resource, chunkOffset, listChunkSize),
+                    upstreamCalled);
+        }
+        Class<?> itemType = summaryTypeFor(resource);
+        String upstreamUrl = upstreamUrl(url);
+        return () -> {
+            Object mirrored = spaceMirrorService.findList(resource, chunkOffset, listChunkSize);
+            if (mirrored == null) {
+                markUpstreamCall(upstreamCalled);
+                return fromUpstream(spaceApiClient.getPage(upstreamUrl, resource.getKey(), itemType));
+            }
+            try {
+                return spaceJsonParser.convertPage(mirrored, itemType);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static String upstreamUrl(String cacheKey) {
+        return cacheKey.endsWith("#typed") ? cacheKey.substring(0, cacheKey.length() - "#typed".length()) : cacheKey;
+    }
+
+    private static Class<?> summaryTypeFor(SpaceResource resource) {
+        return switch (resource) {
+            case LAUNCHES, UPCOMING_LAUNCHES, PREVIOUS_LAUNCHES -> LaunchSummary.class;
+            case ASTRONAUTS -> AstronautSummary.class;
+            case AGENCIES -> AgencySummary.class;
+            case PROGRAMS -> ProgramSummary.class;
+            default -> throw new IllegalArgumentException(resource + " is not a list resource");
+        };
+    }
+
+    private Supplier<Object> detailsLoader(SpaceResource resource, String url, String id, AtomicBoolean upstreamCalled) {
+        return loaderFor(resource, url, () -> spaceMirrorService.findDetails(resource, id), upstreamCalled);
+    }
+
+    // Cache misses are answered from the local mirror when it has synced, otherwise from the upstream.
+    // Returns an UpstreamBody for upstream answers so the cache keeps the upstream ETag
+    private Supplier<Object> loaderFor(SpaceResource resource, String url, Supplier<Object> mirrorLookup,
+                                       AtomicBoolean upstreamCalled) {
+        return () -> {
+            Object mirrored = mirrorLookup.get();
+            if (mirrored != null) {
+                return mirrored;
+            }
+            markUpstreamCall(upstreamCalled);
+            // Revalidate the copy we hold (fresh or expired) instead of downloading it again
+            CachedSpaceData previous = spaceDataCache.peek(url);
+            String etag = previous != null ? previous.getUpstreamEtag() : null;
+            UpstreamBody response = spaceApiClient.getConditional(url, resource.getKey(), etag);
+            if (response.notModified()) {
+                return new UpstreamBody(previous.getBody(), etag, true);
+            }
+            if (resource == SpaceResource.ASTRONAUTS) {
+                logAstronautResponseStructure(response.body());
+            }
+            return response;
+        };
+    }
+
+    private static void markUpstreamCall(AtomicBoolean upstreamCalled) {
+        if (upstreamCalled != null) {
+            upstreamCalled.set(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void logAstronautResponseStructure(Object responseBody) {
+        if (responseBody == null) {
+            return;
+        }
+        logger.info("Astronauts API response body structure: {}", responseBody.getClass().getName());
+        // Log the first item if it's a map with results
         try {
-            String url = SPACE_API_BASE_URL + "/program/" + id + "/?format=json";
-            logger.info("Fetching program details from URL: {}", url);
-            ResponseEntity<Object> response = restTemplate.getForEntity(url, Object.class);
-            logger.info("Program details API response status: {}", response.getStatusCode());
-            return response.getBody();
+            if (responseBody instanceof Map) {
+                Map<String, Object> responseMap = (Map<String, Object>) responseBody;
+                logger.info("Astronauts API response keys: {}", responseMap.keySet());
+
+                if (responseMap.containsKey("results") && responseMap.get("results") instanceof List) {
+                    List<Object> results = (List<Object>) responseMap.get("results");
+                    if (!results.isEmpty()) {
+                        Object firstItem = results.get(0);
+                        logger.info("First astronaut object keys: {}",
+                            firstItem instanceof Map ? ((Map<String, Object>) firstItem).keySet() : "Not a map");
+                    }
+                }
+            }
         } catch (Exception e) {
-            logger.error("Error fetching program details: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch program details: " + e.getMessage());
+            logger.error("Error analyzing astronaut response", e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,254 @@
+package com.codewithme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps a copy of {@link SpaceDataCache} on local disk so a restarted backend
+ * starts warm, and can serve without the upstream at all in offline mode
+ * ({@code space.upstream.offline}).
+ *
+ * At startup the snapshot is memory-mapped and its entries put back in the
+ * cache, where they are served while background refreshes replace them. While
+ * running, the snapshot is rewritten every {@code space.snapshot.write-interval}
+ * if anything new was stored, and once more on shutdown. A write goes to a
+ * temporary file that is then moved over the old one, so a crash mid-write
+ * leaves the previous snapshot intact.
+ *
+ * The file is big-endian: a header (magic {@code SPSN}, format version, write
+ * time in epoch millis, entry count), then per entry the cache key, resource
+ * name, {@link SpaceBodyCodec} body type, fetch time in epoch millis, ETag and
+ * upstream ETag, and the body as length-prefixed JSON, then a CRC32 of all of
+ * it. Strings are length-prefixed UTF-8, length -1 for null. A file that fails
+ * any check is ignored and the backend starts cold.
+ */
+@Component
+public class SpaceDataSnapshot implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceDataSnapshot.class);
+    static final int MAGIC = 0x5350534E;
+    static final int VERSION = 1;
+    // magic, version, written at, count
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    private final SpaceSnapshotProperties properties;
+    private final SpaceUpstreamProperties upstreamProperties;
+    private final SpaceDataCache cache;
+    private final ObjectMapper objectMapper;
+    // Set when the cache stores something the snapshot does not have yet
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public SpaceDataSnapshot(SpaceSnapshotProperties properties, SpaceUpstreamProperties upstreamProperties,
+                             SpaceDataCache cache, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.upstreamProperties = upstreamProperties;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        cache.addStoreListener((resource, body) -> dirty.set(true));
+    }
+
+    // Once every bean exists, so store listeners such as the search index see the restored entries,
+    // and before the web server starts taking requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        restore();
+    }
+
+    void restore() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path path = Path.of(properties.getPath());
+        if (!Files.isRegularFile(path)) {
+            logger.info("No space data snapshot at {}, starting cold", path);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean offline = upstreamProperties.isOffline();
+        try {
+            Map<String, CachedSpaceData> entries = read(path, objectMapper);
+            // Offline there is nothing better to serve, however old
+            Instant oldest = offline ? Instant.MIN : Instant.now().minus(properties.getMaxAge());
+            int restored = 0;
+            for (Map.Entry<String, CachedSpaceData> entry : entries.entrySet()) {
+                CachedSpaceData data = entry.getValue();
+                if (!data.getFetchedAt().isBefore(oldest) && cache.restore(entry.getKey(), data)) {
+                    restored++;
+                }
+            }
+            dirty.set(false);
+            logger.info("Restored {} of {} space data entries from {} in {} ms", restored, entries.size(), path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read space data snapshot {}, starting cold: {}", path, e.getMessage());
+        }
+        if (offline && cache.size() == 0) {
+            logger.warn("Offline mode with no snapshot data: space data requests will fail");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${space.snapshot.write-interval:5m}",
+            fixedDelayString = "${space.snapshot.write-interval:5m}")
+    public void writeIfChanged() {
+        if (dirty.getAndSet(false)) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    void writeOnShutdown() {
+        writeIfChanged();
+    }
+
+    // Offline nothing new is loaded, and the snapshot being served from is left as it is
+    private synchronized void writeSnapshot() {
+        if (!properties.isEnabled() || upstreamProperties.isOffline()) {
+            return;
+        }
+        Path path = Path.of(properties.getPath());
+        long started = System.nanoTime();
+        try {
+            Map<String, CachedSpaceData> entries = cache.entries();
+            write(path, entries, objectMapper);
+            logger.debug("Wrote {} space data entries to {} in {} ms", entries.size(), path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            // Try again at the next interval
+            dirty.set(true);
+            logger.warn("Could not write space data snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    static void write(Path path, Map<String, CachedSpaceData> entries, ObjectMapper objectMapper) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, CachedSpaceData> entry : entries.entrySet()) {
+                CachedSpaceData data = entry.getValue();
+                writeString(out, entry.getKey());
+                writeString(out, data.getResource().name());
+                writeString(out, SpaceBodyCodec.typeOf(data.getBody()));
+                out.writeLong(data.getFetchedAt().toEpochMilli());
+                writeString(out, data.getEtag());
+                writeString(out, data.getUpstreamEtag());
+                byte[] json = objectMapper.writeValueAsBytes(data.getBody());
+                out.writeInt(json.length);
+                out.write(json);
+            }
+            out.flush();
+            file.write(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Every entry in the snapshot at {@code path}, in file order. Entries whose
+     * resource or body no longer reads back are skipped.
+     */
+    static Map<String, CachedSpaceData> read(Path path, ObjectMapper objectMapper) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int end = (int) size - 4;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, end));
+            if ((int) crc.getValue() != buffer.getInt(end)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a space data snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            buffer.getLong();
+            int count = buffer.getInt();
+            Map<String, CachedSpaceData> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                String resource = readString(buffer);
+                String bodyType = readString(buffer);
+                Instant fetchedAt = Instant.ofEpochMilli(buffer.getLong());
+                String etag = readString(buffer);
+                String upstreamEtag = readString(buffer);
+                int length = buffer.getInt();
+                ByteBuffer json = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                try {
+                    Object body = SpaceBodyCodec.decode(objectMapper, bodyType, new ByteBufferBackedInputStream(json));
+                    entries.put(key, new CachedSpaceData(SpaceResource.valueOf(resource), body, fetchedAt,
+                            etag, upstreamEtag));
+                } catch (IOException | IllegalArgumentException e) {
+                    logger.debug("Skipping snapshot entry {}: {}", key, e.getMessage());
+                }
+            }
+            return entries;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,155 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Trims list pages down to the fields a client asked for before they are
+ * serialized. {@code fields=name,status.name,mission.name} keeps those paths of
+ * every result (dotted paths descend into nested objects and lists); without
+ * {@code fields} the compact view keeps what the list pages render, and
+ * {@code view=full} returns the upstream payload untouched.
+ *
+ * The envelope ({@code count}, {@code next}, {@code previous}) is always kept.
+ * Cached pages are never modified; the projection builds new maps.
+ */
+@Component
+public class SpaceFieldProjection {
+    public static final String VIEW_COMPACT = "compact";
+    public static final String VIEW_FULL = "full";
+    static final int MAX_FIELDS = 50;
+    private static final Pattern FIELD_PATH = Pattern.compile("[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*");
+
+    // What Homepage, Astronauts, Agencies and Programs read from each card
+    private static final Map<SpaceResource, Selection> COMPACT = new EnumMap<>(SpaceResource.class);
+
+    static {
+        Selection launches = parse("id,name,image,net,status,mission.name,launch_service_provider.name");
+        COMPACT.put(SpaceResource.LAUNCHES, launches);
+        COMPACT.put(SpaceResource.UPCOMING_LAUNCHES, launches);
+        COMPACT.put(SpaceResource.PREVIOUS_LAUNCHES, launches);
+        COMPACT.put(SpaceResource.ASTRONAUTS, parse("id,name,nationality,profile_image,profile_image_thumbnail,"
+                + "image.image_url,status.name,agency.name"));
+        COMPACT.put(SpaceResource.AGENCIES, parse("id,name,abbrev,description"));
+        COMPACT.put(SpaceResource.PROGRAMS, parse("id,name,description,image_url,start_date,end_date"));
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public SpaceFieldProjection(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Projects a list page of {@code resource}. Throws {@link IllegalArgumentException}
+     * for an unknown view or a malformed field list.
+     */
+    public Object project(SpaceResource resource, Object page, String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            return projectPage(page, parse(fields));
+        }
+        if (view == null || VIEW_COMPACT.equals(view)) {
+            // Typed pages already hold only the summary fields
+            Selection compact = COMPACT.get(resource);
+            return compact == null || page instanceof SpacePage<?> ? page : projectPage(page, compact);
+        }
+        if (VIEW_FULL.equals(view)) {
+            return page;
+        }
+        throw new IllegalArgumentException("Unknown view '" + view + "', expected compact or full");
+    }
+
+    /**
+     * Returns a copy of {@code result} with its page projected. The ETag is kept:
+     * fields and view are part of the URL, so each selection is its own resource.
+     */
+    public SpaceDataResult project(SpaceResource resource, SpaceDataResult result, String fields, String view) {
+        Object projected = project(resource, result.getBody(), fields, view);
+        return projected == result.getBody()
+                ? result
+                : new SpaceDataResult(projected, result.getFetchedAt(), result.getStaleness(), result.getEtag(),
+                        result.getCacheStatus(), result.getUpstreamStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object projectPage(Object page, Selection selection) {
+        Object untyped = page instanceof SpacePage<?> ? objectMapper.convertValue(page, Map.class) : page;
+        if (!(untyped instanceof Map<?, ?> envelope) || !(envelope.get("results") instanceof List<?> results)) {
+            return page;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        ((Map<String, Object>) envelope).forEach((key, value) ->
+                projected.put(key, "results".equals(key) ? apply(results, selection) : value));
+        return projected;
+    }
+
+    private static Object apply(Object value, Selection selection) {
+        if (selection.isAll()) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            selection.children().forEach((name, child) -> {
+                if (map.containsKey(name)) {
+                    projected.put(name, apply(map.get(name), child));
+                }
+            });
+            return projected;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> projected = new ArrayList<>(list.size());
+            for (Object item : list) {
+                projected.add(apply(item, selection));
+            }
+            return projected;
+        }
+        return value;
+    }
+
+    static Selection parse(String fields) {
+        String[] paths = fields.split(",");
+        if (paths.length > MAX_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields may be selected");
+        }
+        Selection root = new Selection(new LinkedHashMap<>());
+        for (String raw : paths) {
+            String path = raw.trim();
+            if (!FIELD_PATH.matcher(path).matches()) {
+                throw new IllegalArgumentException("Invalid field '" + raw + "'");
+            }
+            Selection node = root;
+            String[] names = path.split("\\.");
+            for (int i = 0; i < names.length && !node.isAll(); i++) {
+                boolean last = i == names.length - 1;
+                Selection existing = node.children().get(names[i]);
+                if (last) {
+                    node.children().put(names[i], Selection.ALL);
+                } else if (existing == null) {
+                    existing = new Selection(new LinkedHashMap<>());
+                    node.children().put(names[i], existing);
+                }
+                node = last ? Selection.ALL : existing;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * A tree of selected names; {@link #ALL} keeps the whole value below it.
+     */
+    record Selection(Map<String, Selection> children) {
+        static final Selection ALL = new Selection(null);
+
+        boolean isAll() {
+            return children == null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the outbound HTTP client used to call the Space Devs API,
+ * bound from {@code space.http.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.http")
+public class SpaceHttpClientProperties {
+
+    // Also the cap on concurrent requests from the non-blocking client
+    private int maxConnections = 50;
+
+    private int maxConnectionsPerRoute = 20;
+
+    // TCP (and TLS) connect
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // Waiting for a free pooled connection
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    // Waiting for the response head, and between reads of the body
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    // Hard deadline for the whole call; the request is aborted once it is exceeded
+    private Duration totalTimeout = Duration.ofSeconds(10);
+
+    // Used when the upstream does not send a Keep-Alive header
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // Idle pooled connections are closed after this long
+    private Duration idleEviction = Duration.ofMinutes(1);
+
+    // Threads that parse responses on the non-blocking client (space.execution.mode=async)
+    private int asyncThreads = 4;
+
+    // Async requests that may wait for a free slot; beyond this they fail immediately
+    private int asyncQueueSize = 1000;
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Duration getTotalTimeout() {
+        return totalTimeout;
+    }
+
+    public void setTotalTimeout(Duration totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    public void setAsyncQueueSize(int asyncQueueSize) {
+        this.asyncQueueSize = asyncQueueSize;
+    }
+}
@@ -0,0 +1,104 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token-level parser for Space Devs list pages. It walks the page envelope with a
+ * streaming {@link JsonParser} and binds each result straight into a typed record;
+ * fields the record does not declare (rocket configuration, pad, mission details,
+ * images, ...) are skipped token by token instead of being built into maps.
+ *
+ * The summary records must stay annotated with
+ * {@code @JsonIgnoreProperties(ignoreUnknown = true)}: without it Jackson copies
+ * every unknown field into a token buffer while waiting for the record
+ * constructor's arguments, which costs more than the untyped parse.
+ */
+@Component
+public class SpaceJsonParser {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public SpaceJsonParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> SpacePage<T> parsePage(InputStream body, Class<T> itemType) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return parsePage(parser, itemType);
+        }
+    }
+
+    /**
+     * Decodes a response body into plain maps and lists, the same shape the
+     * RestTemplate path produces for {@code Object.class}.
+     */
+    public Object parse(byte[] body) throws IOException {
+        return objectMapper.readValue(body, Object.class);
+    }
+
+    public <T> SpacePage<T> parsePage(byte[] body, Class<T> itemType) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return parsePage(parser, itemType);
+        }
+    }
+
+    /**
+     * Converts an already decoded page (e.g. one served from the mirror) into the typed form.
+     */
+    public <T> SpacePage<T> convertPage(Object page, Class<T> itemType) throws IOException {
+        try (JsonParser parser = objectMapper.treeAsTokens(objectMapper.valueToTree(page))) {
+            return parsePage(parser, itemType);
+        }
+    }
+
+    private <T> SpacePage<T> parsePage(JsonParser parser, Class<T> itemType) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object for a " + itemType.getSimpleName() + " page");
+        }
+        ObjectReader itemReader = readerFor(itemType);
+        long count = 0;
+        String next = null;
+        String previous = null;
+        List<T> results = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "count" -> count = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : 0;
+                case "next" -> next = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "previous" -> previous = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "results" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            results.add(itemReader.readValue(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new SpacePage<>(count, next, previous, results);
+    }
+
+    private ObjectReader readerFor(Class<?> itemType) {
+        return readers.computeIfAbsent(itemType, type -> objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+}
@@ -0,0 +1,48 @@
+package com.codewithme.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors for the list endpoints. A cursor names the position of
+ * the first item of a page; clients pass the {@code next} or {@code previous}
+ * value of one page as {@code cursor} to get the adjacent one.
+ */
+public final class SpaceListCursor {
+    private static final String PREFIX = "o:";
+
+    private SpaceListCursor() {
+    }
+
+    public static String encode(long offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The offset a list request starts at: the cursor's when one is given, the
+     * plain {@code offset} parameter otherwise.
+     */
+    public static int offsetOf(String cursor, int offset) {
+        return cursor != null && !cursor.isBlank() ? decode(cursor) : offset;
+    }
+
+    /**
+     * The offset a cursor points at. Throws {@link IllegalArgumentException} for
+     * anything that is not a cursor this class produced.
+     */
+    public static int decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(PREFIX)) {
+                int offset = Integer.parseInt(decoded.substring(PREFIX.length()));
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 and number format errors alike
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
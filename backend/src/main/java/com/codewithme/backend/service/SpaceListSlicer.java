@@ -0,0 +1,133 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpacePage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuts the page a client asked for out of the fixed-size chunks
+ * {@link SpaceDataService} caches, so {@code limit=10}, {@code limit=20} and
+ * {@code offset=40&limit=20} all come from the same cached upstream page.
+ *
+ * The upstream {@code next}/{@code previous} URLs are replaced by
+ * {@link SpaceListCursor}s into our own endpoint. Works on untyped pages and
+ * on {@link SpacePage}s alike.
+ */
+final class SpaceListSlicer {
+    // A slice reports the least cached of its chunks' statuses
+    private static final List<String> CACHE_STATUS_ORDER = List.of("hit", "shared", "stale", "snapshot", "stale_on_error", "miss");
+
+    private SpaceListSlicer() {
+    }
+
+    /**
+     * @param chunks      one or two consecutive chunks, the first starting at {@code chunkOffset}
+     * @param chunkOffset absolute offset of the first chunk's first item
+     */
+    static SpaceDataResult slice(List<SpaceDataResult> chunks, int chunkOffset, int offset, int limit) {
+        SpaceDataResult first = chunks.get(0);
+        List<Object> items = new ArrayList<>();
+        for (SpaceDataResult chunk : chunks) {
+            items.addAll(resultsOf(chunk.getBody()));
+        }
+        Long count = countOf(first.getBody());
+        int from = Math.min(items.size(), offset - chunkOffset);
+        int to = Math.min(items.size(), from + limit);
+        List<Object> page = new ArrayList<>(items.subList(from, to));
+
+        long total = count != null ? count : chunkOffset + items.size();
+        String next = offset + page.size() < total && !page.isEmpty() ? SpaceListCursor.encode(offset + page.size()) : null;
+        String previous = offset > 0 ? SpaceListCursor.encode(Math.max(0, offset - limit)) : null;
+        Object body = first.getBody() instanceof SpacePage<?>
+                ? new SpacePage<>(total, next, previous, page)
+                : envelope(first.getBody(), total, next, previous, page);
+
+        Instant fetchedAt = first.getFetchedAt();
+        Duration staleness = first.getStaleness();
+        String cacheStatus = first.getCacheStatus();
+        int upstreamStatus = first.getUpstreamStatus();
+        for (SpaceDataResult chunk : chunks) {
+            fetchedAt = chunk.getFetchedAt().isBefore(fetchedAt) ? chunk.getFetchedAt() : fetchedAt;
+            staleness = chunk.getStaleness().compareTo(staleness) > 0 ? chunk.getStaleness() : staleness;
+            if (cacheRank(chunk.getCacheStatus()) > cacheRank(cacheStatus)) {
+                cacheStatus = chunk.getCacheStatus();
+            }
+            upstreamStatus = Math.max(upstreamStatus, chunk.getUpstreamStatus());
+        }
+        return new SpaceDataResult(body, fetchedAt, staleness, etagOf(chunks, offset, limit), cacheStatus, upstreamStatus);
+    }
+
+    private static int cacheRank(String cacheStatus) {
+        return cacheStatus != null ? CACHE_STATUS_ORDER.indexOf(cacheStatus) : -1;
+    }
+
+    /**
+     * Whether the list continues at {@code position}, judging by a chunk that
+     * starts at {@code chunkOffset}. Without a count, a full chunk is taken to
+     * mean there may be more.
+     */
+    static boolean hasItemsFrom(Object chunk, int chunkOffset, int position) {
+        Long count = countOf(chunk);
+        return count != null ? count > position : chunkOffset + resultsOf(chunk).size() >= position;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> envelope(Object chunk, long count, String next, String previous,
+                                                List<Object> results) {
+        Map<String, Object> page = new LinkedHashMap<>();
+        if (chunk instanceof Map<?, ?> map) {
+            ((Map<String, Object>) map).forEach(page::put);
+        }
+        page.put("count", count);
+        page.put("next", next);
+        page.put("previous", previous);
+        page.put("results", results);
+        return page;
+    }
+
+    static List<?> resultsOf(Object chunk) {
+        if (chunk instanceof SpacePage<?> page) {
+            return page.results();
+        }
+        if (chunk instanceof Map<?, ?> map && map.get("results") instanceof List<?> results) {
+            return results;
+        }
+        return List.of();
+    }
+
+    private static Long countOf(Object chunk) {
+        if (chunk instanceof SpacePage<?> page) {
+            return page.count();
+        }
+        if (chunk instanceof Map<?, ?> map && map.get("count") instanceof Number count) {
+            return count.longValue();
+        }
+        return null;
+    }
+
+    // Each slice is its own representation, so it gets its own validator derived from the chunks'
+    private static String etagOf(List<SpaceDataResult> chunks, int offset, int limit) {
+        StringBuilder source = new StringBuilder().append(offset).append('/').append(limit);
+        for (SpaceDataResult chunk : chunks) {
+            if (chunk.getEtag() == null) {
+                return null;
+            }
+            source.append('/').append(chunk.getEtag());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the local Postgres mirror of Space Devs entities, bound from
+ * {@code space.mirror.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.mirror")
+public class SpaceMirrorProperties {
+
+    // Run the scheduled incremental sync
+    private boolean enabled = false;
+
+    // Answer /api/space/* reads from the mirror once a record type has fully synced
+    private boolean serveReads = false;
+
+    // Records requested per upstream page while syncing
+    private int pageSize = 100;
+
+    // Upper bound on upstream pages fetched per record type and sync run
+    private int maxPagesPerSync = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isServeReads() {
+        return serveReads;
+    }
+
+    public void setServeReads(boolean serveReads) {
+        this.serveReads = serveReads;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getMaxPagesPerSync() {
+        return maxPagesPerSync;
+    }
+
+    public void setMaxPagesPerSync(int maxPagesPerSync) {
+        this.maxPagesPerSync = maxPagesPerSync;
+    }
+}
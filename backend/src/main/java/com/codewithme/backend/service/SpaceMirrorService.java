@@ -0,0 +1,270 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SpaceRecord;
+import com.codewithme.backend.SpaceRecordRepository;
+import com.codewithme.backend.SpaceRecordType;
+import com.codewithme.backend.SpaceSyncState;
+import com.codewithme.backend.SpaceSyncStateRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local Postgres mirror of Space Devs launches, astronauts, agencies and programs.
+ *
+ * {@link #sync(SpaceRecordType)} walks the upstream list in detailed mode and
+ * upserts the records whose payload changed. Launches are walked in
+ * {@code last_updated} order from the stored high watermark; the other types have
+ * no change marker upstream and are re-walked in full, in id order. A walk that
+ * runs out of pages resumes from the stored next-page URL on the following run.
+ * Once a type has been walked to the last page, list and detail reads for it can
+ * be answered from the mirror instead of the upstream.
+ */
+@Service
+public class SpaceMirrorService {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceMirrorService.class);
+
+    private final SpaceApiClient spaceApiClient;
+    private final SpaceRecordRepository spaceRecordRepository;
+    private final SpaceSyncStateRepository spaceSyncStateRepository;
+    private final SpaceMirrorProperties properties;
+    private final MeterRegistry meterRegistry;
+    // Map keys sorted so the payload hash does not depend on field order
+    private final ObjectWriter hashWriter;
+    // Told about every record payload a sync writes, e.g. to keep the search index current
+    private final List<BiConsumer<SpaceRecordType, List<Map<String, Object>>>> upsertListeners =
+            new CopyOnWriteArrayList<>();
+
+    public SpaceMirrorService(SpaceApiClient spaceApiClient, SpaceRecordRepository spaceRecordRepository,
+                              SpaceSyncStateRepository spaceSyncStateRepository, SpaceMirrorProperties properties,
+                              MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.spaceApiClient = spaceApiClient;
+        this.spaceRecordRepository = spaceRecordRepository;
+        this.spaceSyncStateRepository = spaceSyncStateRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.hashWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
+
+    public void addUpsertListener(BiConsumer<SpaceRecordType, List<Map<String, Object>>> listener) {
+        upsertListeners.add(listener);
+    }
+
+    public Object findList(SpaceResource resource, int limit) {
+        return findList(resource, 0, limit);
+    }
+
+    /**
+     * Returns a list page shaped like the upstream response, or null when the
+     * mirror cannot answer (reads disabled or the type has not fully synced yet).
+     * {@code offset} must be a multiple of {@code limit}.
+     */
+    public Object findList(SpaceResource resource, int offset, int limit) {
+        int pageNumber = offset / limit;
+        SpaceRecordType type = resource.getRecordType();
+        if (!canServe(type)) {
+            return null;
+        }
+        Instant now = Instant.now();
+        List<SpaceRecord> records;
+        long count;
+        switch (resource) {
+            case UPCOMING_LAUNCHES -> {
+                records = spaceRecordRepository.findByTypeAndNetGreaterThanEqual(type, now,
+                        PageRequest.of(pageNumber, limit, Sort.by("net").ascending()));
+                count = spaceRecordRepository.countByTypeAndNetGreaterThanEqual(type, now);
+            }
+            case PREVIOUS_LAUNCHES -> {
+                records = spaceRecordRepository.findByTypeAndNetLessThan(type, now,
+                        PageRequest.of(pageNumber, limit, Sort.by("net").descending()));
+                count = spaceRecordRepository.countByTypeAndNetLessThan(type, now);
+            }
+            case LAUNCHES -> {
+                records = spaceRecordRepository.findByType(type, PageRequest.of(pageNumber, limit, Sort.by("net").descending()));
+                count = spaceRecordRepository.countByType(type);
+            }
+            default -> {
+                records = spaceRecordRepository.findByType(type, PageRequest.of(pageNumber, limit, Sort.by("name").ascending()));
+                count = spaceRecordRepository.countByType(type);
+            }
+        }
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("count", count);
+        page.put("next", null);
+        page.put("previous", null);
+        page.put("results", records.stream().map(SpaceRecord::getPayload).collect(Collectors.toList()));
+        logger.debug("Served {} {} from mirror", records.size(), resource.getKey());
+        return page;
+    }
+
+    /**
+     * Returns the mirrored record, or null when the mirror cannot answer.
+     */
+    public Object findDetails(SpaceResource resource, String id) {
+        SpaceRecordType type = resource.getRecordType();
+        if (!canServe(type)) {
+            return null;
+        }
+        SpaceRecord record = spaceRecordRepository.findByTypeAndExternalId(type, id);
+        return record != null ? record.getPayload() : null;
+    }
+
+    /**
+     * Pulls records changed since the last sync and upserts them. Returns the
+     * number of records written.
+     */
+    @SuppressWarnings("unchecked")
+    public int sync(SpaceRecordType type) {
+        SpaceSyncState state = spaceSyncStateRepository.findById(type).orElseGet(() -> new SpaceSyncState(type));
+        String url = state.getNextPageUrl() != null
+                ? state.getNextPageUrl()
+                : firstPageUrl(type, type.tracksLastUpdated() ? state.getHighWatermark() : null);
+        int written = 0;
+        int pages = 0;
+
+        while (url != null && pages < properties.getMaxPagesPerSync()) {
+            Object body = spaceApiClient.get(url, type.name().toLowerCase() + " sync");
+            pages++;
+            if (!(body instanceof Map)) {
+                break;
+            }
+            Map<String, Object> page = (Map<String, Object>) body;
+            List<Map<String, Object>> results = page.get("results") instanceof List
+                    ? (List<Map<String, Object>>) page.get("results") : List.of();
+            written += upsert(type, results, state);
+
+            url = page.get("next") instanceof String next ? next : null;
+            state.setNextPageUrl(url);
+            if (url == null) {
+                state.setInitialSyncComplete(true);
+            }
+            state.setLastSyncedAt(Instant.now());
+            spaceSyncStateRepository.save(state);
+        }
+
+        logger.info("Mirror sync of {} wrote {} records from {} pages (watermark {}, resume at {}, complete={})",
+                type, written, pages, state.getHighWatermark(), state.getNextPageUrl(), state.isInitialSyncComplete());
+        return written;
+    }
+
+    private int upsert(SpaceRecordType type, List<Map<String, Object>> results, SpaceSyncState state) {
+        Map<String, Map<String, Object>> byId = new LinkedHashMap<>();
+        for (Map<String, Object> item : results) {
+            if (item != null && item.get("id") != null) {
+                byId.put(String.valueOf(item.get("id")), item);
+            }
+        }
+        if (byId.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, SpaceRecord> existing = new HashMap<>(spaceRecordRepository
+                .findByTypeAndExternalIdIn(type, byId.keySet()).stream()
+                .collect(Collectors.toMap(SpaceRecord::getExternalId, Function.identity())));
+        Instant now = Instant.now();
+        List<SpaceRecord> changed = new ArrayList<>();
+
+        byId.forEach((id, item) -> {
+            Instant lastUpdated = parseInstant(item.get("last_updated"));
+            if (lastUpdated != null && (state.getHighWatermark() == null || lastUpdated.isAfter(state.getHighWatermark()))) {
+                state.setHighWatermark(lastUpdated);
+            }
+
+            String payloadHash = hash(item);
+            SpaceRecord record = existing.get(id);
+            if (record != null && payloadHash.equals(record.getPayloadHash())) {
+                return;
+            }
+            if (record == null) {
+                record = new SpaceRecord();
+                record.setType(type);
+                record.setExternalId(id);
+            }
+            record.setName(item.get("name") != null ? String.valueOf(item.get("name")) : null);
+            record.setLastUpdated(lastUpdated);
+            record.setNet(parseInstant(item.get("net")));
+            record.setPayload(item);
+            record.setPayloadHash(payloadHash);
+            record.setSyncedAt(now);
+            changed.add(record);
+        });
+
+        spaceRecordRepository.saveAll(changed);
+        if (!changed.isEmpty()) {
+            List<Map<String, Object>> payloads = changed.stream().map(SpaceRecord::getPayload).toList();
+            upsertListeners.forEach(listener -> listener.accept(type, payloads));
+        }
+        Counter.builder("space.mirror.records.upserted")
+                .description("Space records written to the local mirror")
+                .tag("type", type.name().toLowerCase())
+                .register(meterRegistry)
+                .increment(changed.size());
+        return changed.size();
+    }
+
+    // Detailed mode so detail reads get the fields the detail pages render
+    private String firstPageUrl(SpaceRecordType type, Instant since) {
+        StringBuilder url = new StringBuilder(spaceApiClient.getBaseUrl())
+                .append(type.getPath())
+                .append("?limit=").append(properties.getPageSize())
+                .append("&ordering=").append(type.tracksLastUpdated() ? "last_updated" : "id")
+                .append("&mode=detailed")
+                .append("&format=json");
+        if (since != null) {
+            url.append("&last_updated__gte=").append(since);
+        }
+        return url.toString();
+    }
+
+    private String hash(Map<String, Object> item) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(hashWriter.writeValueAsBytes(item));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash space record payload", e);
+        }
+    }
+
+    private boolean canServe(SpaceRecordType type) {
+        if (!properties.isServeReads() || type == null) {
+            return false;
+        }
+        return spaceSyncStateRepository.findById(type).map(SpaceSyncState::isInitialSyncComplete).orElse(false);
+    }
+
+    private static Instant parseInstant(Object value) {
+        if (!(value instanceof String text) || text.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
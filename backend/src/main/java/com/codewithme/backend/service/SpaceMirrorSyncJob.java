@@ -0,0 +1,35 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SpaceRecordType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the incremental mirror sync for every record type on a fixed delay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "space.mirror", name = "enabled", havingValue = "true")
+public class SpaceMirrorSyncJob {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceMirrorSyncJob.class);
+
+    private final SpaceMirrorService spaceMirrorService;
+
+    public SpaceMirrorSyncJob(SpaceMirrorService spaceMirrorService) {
+        this.spaceMirrorService = spaceMirrorService;
+    }
+
+    @Scheduled(initialDelayString = "${space.mirror.initial-delay:1m}",
+            fixedDelayString = "${space.mirror.sync-interval:15m}")
+    public void syncAll() {
+        for (SpaceRecordType type : SpaceRecordType.values()) {
+            try {
+                spaceMirrorService.sync(type);
+            } catch (RuntimeException e) {
+                logger.warn("Mirror sync of {} failed: {}", type, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the background prefetch scheduler, bound from {@code space.prefetch.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.prefetch")
+public class SpacePrefetchProperties {
+
+    private boolean enabled = false;
+
+    // Page size to keep warm; matches what the frontend list pages request
+    private int limit = 20;
+
+    // Whether to also warm the detail records referenced by the lists
+    private boolean prefetchDetails = true;
+
+    // Concurrent upstream calls used while prefetching details
+    private int parallelism = 4;
+
+    // Maximum upstream calls a single run may make (lists and details together)
+    private int maxUpstreamCallsPerRun = 60;
+
+    // Resource keys of the lists to refresh, see SpaceResource#getKey()
+    private List<String> resources = new ArrayList<>(List.of(
+            "upcoming-launches", "previous-launches", "agencies", "astronauts", "programs"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean isPrefetchDetails() {
+        return prefetchDetails;
+    }
+
+    public void setPrefetchDetails(boolean prefetchDetails) {
+        this.prefetchDetails = prefetchDetails;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxUpstreamCallsPerRun() {
+        return maxUpstreamCallsPerRun;
+    }
+
+    public void setMaxUpstreamCallsPerRun(int maxUpstreamCallsPerRun) {
+        this.maxUpstreamCallsPerRun = maxUpstreamCallsPerRun;
+    }
+
+    public List<String> getResources() {
+        return resources;
+    }
+
+    public void setResources(List<String> resources) {
+        this.resources = resources;
+    }
+}
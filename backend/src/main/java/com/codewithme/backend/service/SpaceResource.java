@@ -0,0 +1,86 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SpaceRecordType;
+
+import java.time.Duration;
+
+/**
+ * The kinds of Space Devs data we proxy. Each resource carries the default TTL
+ * used by {@link SpaceDataCache}; it can be overridden with
+ * {@code space.cache.ttl.<key>} in application.properties.
+ */
+public enum SpaceResource {
+    LAUNCHES("launches", Duration.ofMinutes(5)),
+    UPCOMING_LAUNCHES("upcoming-launches", Duration.ofMinutes(1)),
+    PREVIOUS_LAUNCHES("previous-launches", Duration.ofMinutes(15)),
+    LAUNCH_DETAILS("launch-details", Duration.ofMinutes(2)),
+    ASTRONAUTS("astronauts", Duration.ofHours(1)),
+    ASTRONAUT_DETAILS("astronaut-details", Duration.ofHours(1)),
+    AGENCIES("agencies", Duration.ofHours(6)),
+    AGENCY_DETAILS("agency-details", Duration.ofHours(6)),
+    PROGRAMS("programs", Duration.ofHours(6)),
+    PROGRAM_DETAILS("program-details", Duration.ofHours(6));
+
+    private final String key;
+    private final Duration defaultTtl;
+
+    SpaceResource(String key, Duration defaultTtl) {
+        this.key = key;
+        this.defaultTtl = defaultTtl;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    /**
+     * The detail resource for items of this list, or null if this is not a list.
+     */
+    public SpaceResource getDetailResource() {
+        return switch (this) {
+            case LAUNCHES, UPCOMING_LAUNCHES, PREVIOUS_LAUNCHES -> LAUNCH_DETAILS;
+            case ASTRONAUTS -> ASTRONAUT_DETAILS;
+            case AGENCIES -> AGENCY_DETAILS;
+            case PROGRAMS -> PROGRAM_DETAILS;
+            default -> null;
+        };
+    }
+
+    /**
+     * The kind of entity this resource lists or describes, as mirrored and indexed.
+     */
+    public SpaceRecordType getRecordType() {
+        return switch (this) {
+            case LAUNCHES, UPCOMING_LAUNCHES, PREVIOUS_LAUNCHES, LAUNCH_DETAILS -> SpaceRecordType.LAUNCH;
+            case ASTRONAUTS, ASTRONAUT_DETAILS -> SpaceRecordType.ASTRONAUT;
+            case AGENCIES, AGENCY_DETAILS -> SpaceRecordType.AGENCY;
+            case PROGRAMS, PROGRAM_DETAILS -> SpaceRecordType.PROGRAM;
+        };
+    }
+
+    public boolean isList() {
+        return getDetailResource() != null;
+    }
+
+    public static SpaceResource fromKey(String key) {
+        for (SpaceResource resource : values()) {
+            if (resource.key.equals(key)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    public static SpaceResource forLaunchType(String type) {
+        if ("upcoming".equals(type)) {
+            return UPCOMING_LAUNCHES;
+        } else if ("previous".equals(type)) {
+            return PREVIOUS_LAUNCHES;
+        }
+        return LAUNCHES;
+    }
+}
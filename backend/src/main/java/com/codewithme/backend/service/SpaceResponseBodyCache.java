@@ -0,0 +1,125 @@
+package com.codewithme.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps hot responses as ready-to-write bytes: the UTF-8 JSON and, for bodies
+ * worth it, a gzip variant compressed once at the highest level. A hit skips
+ * projection, Jackson and compression entirely.
+ *
+ * Entries are keyed by the payload's ETag plus the representation (resource,
+ * fields, view), so a refreshed payload gets new entries and the old ones age
+ * out. The cache is bounded by the bytes it holds
+ * ({@code space.response-cache.max-size}), exported as
+ * {@code space_response_cache_bytes}.
+ */
+@Component
+public class SpaceResponseBodyCache {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceResponseBodyCache.class);
+    static final String CACHE_NAME = "spaceResponseBytes";
+
+    private final SpaceResponseCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, EncodedBody> cache;
+
+    public SpaceResponseBodyCache(SpaceResponseCacheProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, EncodedBody body) -> body.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("space.response.cache.bytes", this, SpaceResponseBodyCache::weightedSize)
+                .description("Bytes held by the pre-serialized response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The encoded body for payload {@code etag} in representation {@code variant},
+     * serializing {@code body} on a miss. Returns null when the cache is disabled,
+     * the payload has no ETag or the body is too large to keep; the caller then
+     * lets Spring serialize as usual.
+     */
+    public EncodedBody get(String etag, String variant, Supplier<Object> body) {
+        if (!properties.isEnabled() || etag == null) {
+            return null;
+        }
+        String key = etag + "|" + variant;
+        EncodedBody cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        EncodedBody encoded = encode(body.get());
+        if (encoded == null) {
+            return null;
+        }
+        cache.put(key, encoded);
+        return encoded;
+    }
+
+    public long weightedSize() {
+        // Weights are applied by Caffeine's maintenance, which may not have run since the last write
+        cache.cleanUp();
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private EncodedBody encode(Object body) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not pre-serialize response: {}", e.getMessage());
+            return null;
+        }
+        if (identity.length > properties.getMaxEntrySize().toBytes()) {
+            return null;
+        }
+        byte[] gzip = identity.length >= properties.getMinCompressSize().toBytes() ? gzip(identity) : null;
+        // Incompressible bodies are only sent as they are
+        return new EncodedBody(identity, gzip != null && gzip.length < identity.length ? gzip : null);
+    }
+
+    private static byte[] gzip(byte[] identity) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(identity.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * A serialized body and its gzip variant (null when not worth having).
+     */
+    public record EncodedBody(byte[] identity, byte[] gzip) {
+
+        int size() {
+            return identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the pre-serialized response cache, bound from {@code space.response-cache.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.response-cache")
+public class SpaceResponseCacheProperties {
+
+    private boolean enabled = false;
+
+    // Total size of the encoded bodies kept, all encodings counted
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    // Larger bodies are serialized per request instead of being cached
+    private DataSize maxEntrySize = DataSize.ofMegabytes(2);
+
+    // Bodies smaller than this are not worth a gzip variant
+    private DataSize minCompressSize = DataSize.ofKilobytes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public DataSize getMinCompressSize() {
+        return minCompressSize;
+    }
+
+    public void setMinCompressSize(DataSize minCompressSize) {
+        this.minCompressSize = minCompressSize;
+    }
+}
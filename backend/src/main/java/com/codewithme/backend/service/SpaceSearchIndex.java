@@ -0,0 +1,521 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SpaceRecord;
+import com.codewithme.backend.SpaceRecordRepository;
+import com.codewithme.backend.SpaceRecordType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the launches, astronauts, agencies and programs
+ * we have seen, so search and filtering never go to the upstream.
+ *
+ * Documents are added or replaced whenever {@link SpaceDataCache} stores a new
+ * body or {@link SpaceMirrorService} writes changed records, and the mirror is
+ * loaded once at startup. Each entity type has its own index: a sorted term
+ * dictionary over names and descriptive text, so the last query word can be
+ * prefix-matched as the user types; a sorted dictionary of full names for
+ * name-prefix lookups; and exact-match postings for the agency, status and
+ * nationality filters. Date ranges are checked on the remaining candidates.
+ *
+ * Records that disappear upstream stay searchable until the application restarts.
+ */
+@Component
+public class SpaceSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SpaceSearchIndex.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Sorts after anything a normalized term can contain, so it closes a prefix range
+    private static final String PREFIX_END = "\uffff";
+    // Fields read when a filter or text path ends at an object rather than a string
+    private static final List<String> LABEL_KEYS = List.of("name", "abbrev", "alpha_3_code", "nationality_name");
+    private static final int SEED_PAGE_SIZE = 500;
+
+    private final SpaceSearchProperties properties;
+    private final SpaceRecordRepository spaceRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<SpaceRecordType, TypeIndex> indexes = new EnumMap<>(SpaceRecordType.class);
+    private final Map<SpaceRecordType, Timer> searchTimers = new EnumMap<>(SpaceRecordType.class);
+
+    public SpaceSearchIndex(SpaceSearchProperties properties, SpaceDataCache spaceDataCache,
+                            SpaceMirrorService spaceMirrorService, SpaceRecordRepository spaceRecordRepository,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.spaceRecordRepository = spaceRecordRepository;
+        this.objectMapper = objectMapper;
+        for (SpaceRecordType type : SpaceRecordType.values()) {
+            TypeIndex index = new TypeIndex();
+            indexes.put(type, index);
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("space.search.documents", index, TypeIndex::size)
+                    .description("Documents in the search index")
+                    .tag("type", tag)
+                    .register(meterRegistry);
+            searchTimers.put(type, Timer.builder("space.search.duration")
+                    .description("Time to answer a search from the index")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+        }
+        spaceDataCache.addStoreListener(this::onStored);
+        spaceMirrorService.addUpsertListener(this::index);
+    }
+
+    /**
+     * A search over one entity type. Every part is optional; the parts given must
+     * all match. {@code text} matches words anywhere in the indexed text, the last
+     * word as a prefix; {@code prefix} matches the start of the name; the filters
+     * match a name, abbreviation or code exactly, ignoring case and accents; and
+     * {@code from}/{@code to} bound the entity's date (launch NET, birth, founding
+     * or program start), both inclusive.
+     */
+    public record Query(String text, String prefix, String agency, String status, String nationality,
+                        Instant from, Instant to) {
+
+        /**
+         * Builds a query from request parameters. Dates may be instants or plain
+         * {@code yyyy-MM-dd} days; a plain {@code to} day includes the whole day.
+         * Throws {@link IllegalArgumentException} for a date it cannot read.
+         */
+        public static Query of(String text, String prefix, String agency, String status, String nationality,
+                               String from, String to) {
+            return new Query(text, prefix, agency, status, nationality, bound(from, false), bound(to, true));
+        }
+
+        private static Instant bound(String value, boolean end) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            Instant instant = parseDate(value.trim());
+            if (instant == null) {
+                throw new IllegalArgumentException("Invalid date '" + value + "'");
+            }
+            return end && !value.contains("T") ? instant.plus(1, ChronoUnit.DAYS).minusNanos(1) : instant;
+        }
+    }
+
+    /**
+     * One page of matches, shaped like an upstream list page with cursors in
+     * {@code next}/{@code previous}. Throws {@link IllegalArgumentException} for a
+     * negative offset or a non-positive limit; limits above
+     * {@code space.search.max-results} are capped.
+     */
+    public Map<String, Object> search(SpaceRecordType type, Query query, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        int pageSize = Math.min(limit, properties.getMaxResults());
+        long start = System.nanoTime();
+        List<Document> matches = indexes.get(type).match(query);
+        matches.sort(orderFor(type, scorer(query)));
+
+        List<Object> results = new ArrayList<>(pageSize);
+        for (int i = offset; i < Math.min(matches.size(), offset + pageSize); i++) {
+            results.add(matches.get(i).payload());
+        }
+        searchTimers.get(type).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("count", matches.size());
+        page.put("next", offset + results.size() < matches.size() ? SpaceListCursor.encode(offset + results.size()) : null);
+        page.put("previous", offset > 0 ? SpaceListCursor.encode(Math.max(0, offset - pageSize)) : null);
+        page.put("results", results);
+        return page;
+    }
+
+    /**
+     * Adds or replaces the given items, upstream list items or detail records
+     * (as maps or typed summaries). Items without an id are ignored.
+     */
+    public void index(SpaceRecordType type, Collection<?> items) {
+        List<Document> documents = new ArrayList<>(items.size());
+        for (Object item : items) {
+            Document document = documentOf(type, item);
+            if (document != null) {
+                documents.add(document);
+            }
+        }
+        int skipped = indexes.get(type).putAll(documents, properties.getMaxDocumentsPerType());
+        if (skipped > 0) {
+            logger.warn("Search index for {} is full ({} documents), skipped {} new records",
+                    type, properties.getMaxDocumentsPerType(), skipped);
+        }
+    }
+
+    public int size(SpaceRecordType type) {
+        return indexes.get(type).size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromMirror() {
+        if (!properties.isSeedFromMirror()) {
+            return;
+        }
+        Thread seeder = new Thread(() -> {
+            for (SpaceRecordType type : SpaceRecordType.values()) {
+                try {
+                    seed(type);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not seed the {} search index from the mirror: {}", type, e.getMessage());
+                }
+            }
+        }, "space-search-seed");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    private void seed(SpaceRecordType type) {
+        int page = 0;
+        List<SpaceRecord> records;
+        do {
+            records = spaceRecordRepository.findByType(type, PageRequest.of(page++, SEED_PAGE_SIZE, Sort.by("id")));
+            index(type, records.stream().map(SpaceRecord::getPayload).toList());
+        } while (records.size() == SEED_PAGE_SIZE);
+        logger.info("Search index for {} seeded with {} documents", type, size(type));
+    }
+
+    private void onStored(SpaceResource resource, Object body) {
+        index(resource.getRecordType(), resource.isList() ? SpaceListSlicer.resultsOf(body) : List.of(body));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Document documentOf(SpaceRecordType type, Object item) {
+        Map<String, Object> fields = item instanceof Map<?, ?> map
+                ? (Map<String, Object>) map : objectMapper.convertValue(item, Map.class);
+        if (fields == null || fields.get("id") == null) {
+            return null;
+        }
+        String id = String.valueOf(fields.get("id"));
+        String name = fields.get("name") != null ? String.valueOf(fields.get("name")) : "";
+
+        List<String> text;
+        List<String> agencies;
+        List<String> statuses;
+        List<String> nationalities;
+        String date;
+        switch (type) {
+            case LAUNCH -> {
+                text = valuesOf(fields, "name", "mission.name", "mission.description", "launch_service_provider",
+                        "rocket.configuration.full_name", "pad.name", "pad.location.name", "program");
+                agencies = valuesOf(fields, "launch_service_provider");
+                statuses = valuesOf(fields, "status");
+                nationalities = valuesOf(fields, "launch_service_provider.country_code");
+                date = first(valuesOf(fields, "net"));
+            }
+            case ASTRONAUT -> {
+                text = valuesOf(fields, "name", "nationality", "agency", "bio");
+                agencies = valuesOf(fields, "agency");
+                statuses = valuesOf(fields, "status");
+                nationalities = valuesOf(fields, "nationality");
+                date = first(valuesOf(fields, "date_of_birth"));
+            }
+            case AGENCY -> {
+                text = valuesOf(fields, "name", "abbrev", "description", "type", "country_code");
+                agencies = valuesOf(fields, "name", "abbrev");
+                statuses = valuesOf(fields, "type");
+                nationalities = valuesOf(fields, "country_code");
+                date = first(valuesOf(fields, "founding_year"));
+            }
+            default -> {
+                text = valuesOf(fields, "name", "description", "agencies", "type");
+                agencies = valuesOf(fields, "agencies");
+                statuses = valuesOf(fields, "type");
+                nationalities = List.of();
+                date = first(valuesOf(fields, "start_date"));
+            }
+        }
+
+        Set<String> terms = new HashSet<>();
+        text.forEach(value -> terms.addAll(tokens(value)));
+        Set<String> facets = new HashSet<>();
+        agencies.forEach(value -> facets.add(facetKey(Facet.AGENCY, value)));
+        statuses.forEach(value -> facets.add(facetKey(Facet.STATUS, value)));
+        // Agencies list several countries as "USA,FRA"
+        nationalities.forEach(value -> {
+            for (String code : value.split(",")) {
+                facets.add(facetKey(Facet.NATIONALITY, code));
+            }
+        });
+        return new Document(id, fields, normalize(name), new HashSet<>(tokens(name)), terms, facets,
+                date != null ? parseDate(date) : null);
+    }
+
+    // Best matches first: more query words in the name, then launches by date and everything else by name
+    private static Comparator<Document> orderFor(SpaceRecordType type, ToIntFunction<Document> score) {
+        Comparator<Document> byScore = Comparator.comparingInt(score).reversed();
+        Comparator<Document> then = type == SpaceRecordType.LAUNCH
+                ? Comparator.comparing(Document::date, Comparator.nullsLast(Comparator.naturalOrder()))
+                : Comparator.comparing(Document::name);
+        return byScore.thenComparing(then).thenComparing(Document::name).thenComparing(Document::id);
+    }
+
+    private static ToIntFunction<Document> scorer(Query query) {
+        List<String> words = query.text() != null ? tokens(query.text()) : List.of();
+        if (words.isEmpty()) {
+            return document -> 0;
+        }
+        String last = words.get(words.size() - 1);
+        return document -> {
+            int score = 0;
+            for (int i = 0; i < words.size() - 1; i++) {
+                score += document.nameTerms().contains(words.get(i)) ? 1 : 0;
+            }
+            for (String term : document.nameTerms()) {
+                if (term.startsWith(last)) {
+                    return score + 1;
+                }
+            }
+            return score;
+        };
+    }
+
+    private static List<String> valuesOf(Map<String, Object> fields, String... paths) {
+        List<String> values = new ArrayList<>();
+        for (String path : paths) {
+            collect(fields, path.split("\\."), 0, values);
+        }
+        return values;
+    }
+
+    private static void collect(Object node, String[] path, int depth, List<String> values) {
+        if (node instanceof List<?> list) {
+            list.forEach(element -> collect(element, path, depth, values));
+        } else if (depth < path.length) {
+            if (node instanceof Map<?, ?> map) {
+                collect(map.get(path[depth]), path, depth + 1, values);
+            }
+        } else if (node instanceof Map<?, ?> map) {
+            LABEL_KEYS.forEach(key -> collect(map.get(key), path, depth, values));
+        } else if (node instanceof String text) {
+            if (!text.isBlank()) {
+                values.add(text);
+            }
+        } else if (node instanceof Number || node instanceof Boolean) {
+            values.add(node.toString());
+        }
+    }
+
+    private static String first(List<String> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Instant parseDate(String text) {
+        try {
+            return OffsetDateTime.parse(text).toInstant();
+        } catch (DateTimeParseException e) {
+            // not a full timestamp
+        }
+        try {
+            return LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (DateTimeParseException e) {
+            // not a plain day
+        }
+        try {
+            return Year.parse(text).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Lower case without accents, split into letter and digit runs
+    private static List<String> tokens(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", tokens(text));
+    }
+
+    private static String facetKey(Facet facet, String value) {
+        return facet.name() + ':' + normalize(value);
+    }
+
+    private enum Facet {
+        AGENCY, STATUS, NATIONALITY
+    }
+
+    private record Document(String id, Map<String, Object> payload, String name, Set<String> nameTerms,
+                            Set<String> terms, Set<String> facets, Instant date) {
+    }
+
+    /**
+     * The index of one entity type. Writers replace whole documents under the
+     * write lock; searches collect their matches under the read lock.
+     */
+    private static final class TypeIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Document> documents = new HashMap<>();
+        private final NavigableMap<String, Set<String>> terms = new TreeMap<>();
+        private final NavigableMap<String, Set<String>> names = new TreeMap<>();
+        private final Map<String, Set<String>> facets = new HashMap<>();
+        private volatile int size;
+
+        int size() {
+            return size;
+        }
+
+        int putAll(List<Document> batch, int maxDocuments) {
+            int skipped = 0;
+            lock.writeLock().lock();
+            try {
+                for (Document document : batch) {
+                    Document previous = documents.get(document.id());
+                    if (previous == null && documents.size() >= maxDocuments) {
+                        skipped++;
+                        continue;
+                    }
+                    if (previous != null) {
+                        unpost(previous);
+                    }
+                    documents.put(document.id(), document);
+                    document.terms().forEach(term -> post(terms, term, document.id()));
+                    post(names, document.name(), document.id());
+                    document.facets().forEach(facet -> post(facets, facet, document.id()));
+                }
+                size = documents.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return skipped;
+        }
+
+        List<Document> match(Query query) {
+            lock.readLock().lock();
+            try {
+                List<Set<String>> required = new ArrayList<>();
+                addFacet(required, Facet.AGENCY, query.agency());
+                addFacet(required, Facet.STATUS, query.status());
+                addFacet(required, Facet.NATIONALITY, query.nationality());
+                if (query.prefix() != null && !query.prefix().isBlank()) {
+                    required.add(withPrefix(names, normalize(query.prefix())));
+                }
+                List<String> words = query.text() != null ? tokens(query.text()) : List.of();
+                for (int i = 0; i < words.size(); i++) {
+                    required.add(i < words.size() - 1
+                            ? terms.getOrDefault(words.get(i), Set.of())
+                            : withPrefix(terms, words.get(i)));
+                }
+
+                List<Document> matches = new ArrayList<>();
+                for (String id : candidates(required)) {
+                    Document document = documents.get(id);
+                    if (inRange(document, query)) {
+                        matches.add(document);
+                    }
+                }
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void addFacet(List<Set<String>> required, Facet facet, String value) {
+            if (value != null && !value.isBlank()) {
+                required.add(facets.getOrDefault(facetKey(facet, value), Set.of()));
+            }
+        }
+
+        // Walks the smallest posting list and keeps the ids every other list has
+        private Collection<String> candidates(List<Set<String>> required) {
+            if (required.isEmpty()) {
+                return documents.keySet();
+            }
+            required.sort(Comparator.comparingInt(Set::size));
+            List<String> ids = new ArrayList<>();
+            for (String id : required.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < required.size() && inAll; i++) {
+                    inAll = required.get(i).contains(id);
+                }
+                if (inAll) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        private static Set<String> withPrefix(NavigableMap<String, Set<String>> dictionary, String prefix) {
+            NavigableMap<String, Set<String>> range = dictionary.subMap(prefix, true, prefix + PREFIX_END, false);
+            if (range.size() == 1) {
+                return range.firstEntry().getValue();
+            }
+            Set<String> ids = new LinkedHashSet<>();
+            range.values().forEach(ids::addAll);
+            return ids;
+        }
+
+        private static boolean inRange(Document document, Query query) {
+            if (query.from() == null && query.to() == null) {
+                return true;
+            }
+            Instant date = document.date();
+            return date != null
+                    && (query.from() == null || !date.isBefore(query.from()))
+                    && (query.to() == null || !date.isAfter(query.to()));
+        }
+
+        private void unpost(Document document) {
+            document.terms().forEach(term -> unpost(terms, term, document.id()));
+            unpost(names, document.name(), document.id());
+            document.facets().forEach(facet -> unpost(facets, facet, document.id()));
+        }
+
+        private static void post(Map<String, Set<String>> postings, String key, String id) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+
+        private static void unpost(Map<String, Set<String>> postings, String key, String id) {
+            Set<String> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the in-memory search index, bound from {@code space.search.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.search")
+public class SpaceSearchProperties {
+
+    // Largest page a search request may ask for
+    private int maxResults = 100;
+
+    // Documents kept per entity type; further new ids are not indexed
+    private int maxDocumentsPerType = 50_000;
+
+    // Load the mirrored records into the index once the application has started
+    private boolean seedFromMirror = true;
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public int getMaxDocumentsPerType() {
+        return maxDocumentsPerType;
+    }
+
+    public void setMaxDocumentsPerType(int maxDocumentsPerType) {
+        this.maxDocumentsPerType = maxDocumentsPerType;
+    }
+
+    public boolean isSeedFromMirror() {
+        return seedFromMirror;
+    }
+
+    public void setSeedFromMirror(boolean seedFromMirror) {
+        this.seedFromMirror = seedFromMirror;
+    }
+}
@@ -0,0 +1,48 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link SpaceDataSnapshot}, the on-disk copy of the space data
+ * cache, bound from {@code space.snapshot.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.snapshot")
+public class SpaceSnapshotProperties {
+
+    // Restore the cache from the snapshot at startup and keep the snapshot current
+    private boolean enabled = false;
+
+    // Snapshot file; relative paths resolve against the working directory
+    private String path = "data/space-snapshot.bin";
+
+    // Entries fetched longer ago than this are not restored (ignored in offline mode)
+    private Duration maxAge = Duration.ofHours(24);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
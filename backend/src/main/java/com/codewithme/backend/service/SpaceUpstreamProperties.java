@@ -0,0 +1,114 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link UpstreamGuard}, the rate limiter and circuit breaker in
+ * front of the Space Devs API, bound from {@code space.upstream.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "space.upstream")
+public class SpaceUpstreamProperties {
+
+    // Make no upstream calls at all; data is served only from the cache and its startup snapshot
+    private boolean offline = false;
+
+    // Sustained call rate the upstream quota allows; 0 disables the token bucket
+    private int requestsPerMinute = 60;
+
+    // Calls that may be made back to back after a quiet period
+    private int burst = 20;
+
+    // The adaptive rate never drops below this after 429s
+    private int minRequestsPerMinute = 2;
+
+    // Pause after a 429 that says nothing about when to come back
+    private Duration defaultRetryAfter = Duration.ofMinutes(1);
+
+    // Recent calls the breaker looks at
+    private int circuitWindow = 20;
+
+    // Calls needed in the window before the breaker may open
+    private int circuitMinimumCalls = 10;
+
+    // Share of failed calls in the window that opens the breaker
+    private int circuitFailureRatePercent = 50;
+
+    // How long an open breaker rejects calls before letting a trial call through
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getMinRequestsPerMinute() {
+        return minRequestsPerMinute;
+    }
+
+    public void setMinRequestsPerMinute(int minRequestsPerMinute) {
+        this.minRequestsPerMinute = minRequestsPerMinute;
+    }
+
+    public Duration getDefaultRetryAfter() {
+        return defaultRetryAfter;
+    }
+
+    public void setDefaultRetryAfter(Duration defaultRetryAfter) {
+        this.defaultRetryAfter = defaultRetryAfter;
+    }
+
+    public int getCircuitWindow() {
+        return circuitWindow;
+    }
+
+    public void setCircuitWindow(int circuitWindow) {
+        this.circuitWindow = circuitWindow;
+    }
+
+    public int getCircuitMinimumCalls() {
+        return circuitMinimumCalls;
+    }
+
+    public void setCircuitMinimumCalls(int circuitMinimumCalls) {
+        this.circuitMinimumCalls = circuitMinimumCalls;
+    }
+
+    public int getCircuitFailureRatePercent() {
+        return circuitFailureRatePercent;
+    }
+
+    public void setCircuitFailureRatePercent(int circuitFailureRatePercent) {
+        this.circuitFailureRatePercent = circuitFailureRatePercent;
+    }
+
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    public void setCircuitOpenDuration(Duration circuitOpenDuration) {
+        this.circuitOpenDuration = circuitOpenDuration;
+    }
+}
@@ -0,0 +1,168 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.AuthTokens;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues and checks the stateless tokens that replace per-request password
+ * checks. Tokens are compact JWTs signed with HMAC-SHA256: a short-lived access
+ * token for the {@code Authorization: Bearer} header and a long-lived refresh
+ * token that buys a new pair. Checking one is a MAC over a few hundred bytes
+ * and a small JSON parse, with no database access and no BCrypt.
+ *
+ * The key is decoded once; each thread keeps its own initialized {@link Mac}.
+ * Only the HS256 header this class writes is accepted, so a token cannot pick
+ * its own algorithm. Refresh tokens are not stored, so an old refresh token
+ * stays valid until it expires.
+ */
+@Service
+public class TokenService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final AuthTokenProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * What a verified token says.
+     */
+    public record Claims(String subject, String type, Instant expiresAt) {
+    }
+
+    @Autowired
+    public TokenService(AuthTokenProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, Clock.systemUTC());
+    }
+
+    TokenService(AuthTokenProperties properties, ObjectMapper objectMapper, Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        SecretKeySpec key = new SecretKeySpec(keyBytes(properties.getSecret()), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    public AuthTokens issue(String subject) {
+        Instant now = clock.instant();
+        String access = sign(subject, ACCESS, now, now.plus(properties.getAccessTokenTtl()));
+        String refresh = sign(subject, REFRESH, now, now.plus(properties.getRefreshTokenTtl()));
+        return new AuthTokens(access, refresh, properties.getAccessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Checks signature, issuer, expiry and kind. Throws {@link InvalidTokenException}
+     * if any of them is wrong.
+     */
+    public Claims verify(String token, String expectedType) {
+        if (token == null) {
+            throw new InvalidTokenException("Missing token");
+        }
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.lastIndexOf('.');
+        if (headerEnd <= 0 || payloadEnd <= headerEnd || !token.startsWith(HEADER + '.')) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(payloadEnd + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!MessageDigest.isEqual(signature, mac(token.substring(0, payloadEnd)))) {
+            throw new InvalidTokenException("Bad token signature");
+        }
+
+        JsonNode claims;
+        try {
+            claims = objectMapper.readTree(DECODER.decode(token.substring(headerEnd + 1, payloadEnd)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!properties.getIssuer().equals(claims.path("iss").asText())) {
+            throw new InvalidTokenException("Token from another issuer");
+        }
+        if (!expectedType.equals(claims.path("typ").asText())) {
+            throw new InvalidTokenException("Not a " + expectedType + " token");
+        }
+        Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+        if (!clock.instant().isBefore(expiresAt)) {
+            throw new InvalidTokenException("Token expired");
+        }
+        String subject = claims.path("sub").asText();
+        if (subject.isEmpty()) {
+            throw new InvalidTokenException("Token has no subject");
+        }
+        return new Claims(subject, expectedType, expiresAt);
+    }
+
+    private String sign(String subject, String type, Instant issuedAt, Instant expiresAt) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", properties.getIssuer());
+        claims.put("sub", subject);
+        claims.put("typ", type);
+        claims.put("iat", issuedAt.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        claims.put("jti", UUID.randomUUID().toString());
+        try {
+            String signed = HEADER + '.' + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return signed + '.' + ENCODER.encodeToString(mac(signed));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write token claims", e);
+        }
+    }
+
+    private byte[] mac(String signed) {
+        return macs.get().doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("auth.token.secret is not set; using a random key, so tokens will not survive a restart "
+                    + "or work across replicas");
+            byte[] key = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        byte[] key = Base64.getDecoder().decode(secret.trim());
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("auth.token.secret must decode to at least " + MIN_KEY_BYTES + " bytes");
+        }
+        return key;
+    }
+}
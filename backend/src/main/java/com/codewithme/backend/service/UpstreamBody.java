@@ -0,0 +1,10 @@
+package com.codewithme.backend.service;
+
+/**
+ * A decoded upstream body together with the upstream's {@code ETag}, so the
+ * cache can send it back as {@code If-None-Match} on the next refresh.
+ * {@code notModified} is set when the upstream answered 304 and {@code body}
+ * is the copy we already held.
+ */
+public record UpstreamBody(Object body, String etag, boolean notModified) {
+}
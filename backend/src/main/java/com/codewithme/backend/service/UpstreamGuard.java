@@ -0,0 +1,300 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control for every call {@link SpaceApiClient} makes.
+ *
+ * A token bucket spends the upstream quota at {@code space.upstream.requests-per-minute}.
+ * The rate adapts: a 429 halves it and pauses all calls for the Retry-After
+ * period, and each later success gives back a twentieth of the configured rate.
+ *
+ * A count-based circuit breaker opens once enough of the recent calls failed
+ * (5xx, timeouts, I/O errors). While open it rejects calls for
+ * {@code circuit-open-duration}, then lets a single trial call through.
+ *
+ * With {@code space.upstream.offline} every call is rejected, so data is served
+ * only from what {@link SpaceDataCache} holds, e.g. its startup snapshot.
+ *
+ * A rejected call fails at once with {@link UpstreamUnavailableException}, so
+ * {@link SpaceDataCache} can fall back to a stale copy instead of waiting on a
+ * doomed call.
+ */
+@Component
+public class UpstreamGuard {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamGuard.class);
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    // Space Devs puts the wait in the 429 body: "Expected available in 3287 seconds."
+    private static final Pattern AVAILABLE_IN = Pattern.compile("available in (\\d+) seconds?");
+
+    enum CircuitState {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final SpaceUpstreamProperties properties;
+    private final LongSupplier nanoTime;
+    private final Counter rateLimited;
+    private final Counter circuitOpen;
+    private final Counter offline;
+    private final Counter throttled;
+
+    // All state below is guarded by this
+    private double tokens;
+    private double requestsPerMinute;
+    private long lastRefill;
+    private long pausedUntil;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openUntil;
+    private boolean trialInFlight;
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    @Autowired
+    public UpstreamGuard(SpaceUpstreamProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    UpstreamGuard(SpaceUpstreamProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.tokens = properties.getBurst();
+        this.requestsPerMinute = properties.getRequestsPerMinute();
+        this.lastRefill = nanoTime.getAsLong();
+        this.outcomes = new boolean[Math.max(1, properties.getCircuitWindow())];
+        this.rateLimited = rejectedCounter(meterRegistry, "rate_limited");
+        this.circuitOpen = rejectedCounter(meterRegistry, "circuit_open");
+        this.offline = rejectedCounter(meterRegistry, "offline");
+        this.throttled = Counter.builder("space.upstream.throttled")
+                .description("429 responses received from the upstream")
+                .register(meterRegistry);
+        Gauge.builder("space.upstream.circuit.state", this, guard -> guard.getState().ordinal())
+                .description("Upstream circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        Gauge.builder("space.upstream.rate.tokens", this, UpstreamGuard::availableTokens)
+                .description("Upstream calls that may be made right now")
+                .register(meterRegistry);
+        Gauge.builder("space.upstream.rate.limit", this, UpstreamGuard::currentRequestsPerMinute)
+                .description("Current adaptive upstream call rate, per minute")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a blocking upstream call if it is admitted, and records its outcome.
+     */
+    public <T> T call(Supplier<T> upstreamCall) {
+        acquire();
+        try {
+            T result = upstreamCall.get();
+            record(null);
+            return result;
+        } catch (RuntimeException e) {
+            record(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #call}; a rejection is returned as a failed future.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> upstreamCall) {
+        try {
+            acquire();
+        } catch (UpstreamUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> call;
+        try {
+            call = upstreamCall.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.whenComplete((result, error) -> record(error));
+    }
+
+    synchronized CircuitState getState() {
+        if (state == CircuitState.OPEN && nanoTime.getAsLong() >= openUntil) {
+            return CircuitState.HALF_OPEN;
+        }
+        return state;
+    }
+
+    synchronized double availableTokens() {
+        if (nanoTime.getAsLong() < pausedUntil) {
+            return 0;
+        }
+        refill(nanoTime.getAsLong());
+        return properties.getRequestsPerMinute() > 0 ? Math.floor(tokens) : Double.POSITIVE_INFINITY;
+    }
+
+    synchronized double currentRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    private synchronized void acquire() {
+        if (properties.isOffline()) {
+            offline.increment();
+            throw new UpstreamUnavailableException("Upstream calls are disabled (offline mode)",
+                    properties.getDefaultRetryAfter());
+        }
+        long now = nanoTime.getAsLong();
+        if (state == CircuitState.OPEN) {
+            if (now < openUntil) {
+                circuitOpen.increment();
+                throw new UpstreamUnavailableException("Upstream circuit is open", Duration.ofNanos(openUntil - now));
+            }
+            state = CircuitState.HALF_OPEN;
+            trialInFlight = false;
+            logger.info("Upstream circuit half-open, letting a trial call through");
+        }
+        if (state == CircuitState.HALF_OPEN && trialInFlight) {
+            circuitOpen.increment();
+            throw new UpstreamUnavailableException("Upstream circuit is half-open, trial call in flight",
+                    Duration.ofSeconds(1));
+        }
+        if (now < pausedUntil) {
+            rateLimited.increment();
+            throw new UpstreamUnavailableException("Upstream quota exhausted", Duration.ofNanos(pausedUntil - now));
+        }
+        if (properties.getRequestsPerMinute() > 0) {
+            refill(now);
+            if (tokens < 1) {
+                rateLimited.increment();
+                long wait = (long) ((1 - tokens) * NANOS_PER_MINUTE / requestsPerMinute);
+                throw new UpstreamUnavailableException("Upstream rate limit reached", Duration.ofNanos(wait));
+            }
+            tokens -= 1;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            trialInFlight = true;
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(properties.getBurst(), tokens + (now - lastRefill) * requestsPerMinute / NANOS_PER_MINUTE);
+        lastRefill = now;
+    }
+
+    private synchronized void record(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpClientErrorException.TooManyRequests tooMany) {
+            onThrottled(retryAfterOf(tooMany));
+        } else if (cause == null || cause instanceof HttpClientErrorException) {
+            // Any other 4xx still means the upstream is up and answering
+            onOutcome(true);
+        } else if (cause instanceof HttpServerErrorException || cause instanceof ResourceAccessException
+                || cause instanceof IOException) {
+            onOutcome(false);
+        } else if (state == CircuitState.HALF_OPEN) {
+            // Says nothing about upstream health (e.g. a bad URL); free the trial slot
+            trialInFlight = false;
+        }
+    }
+
+    private void onOutcome(boolean success) {
+        if (state == CircuitState.HALF_OPEN) {
+            if (success) {
+                logger.info("Upstream trial call succeeded, closing circuit");
+                state = CircuitState.CLOSED;
+                recorded = 0;
+                next = 0;
+                failures = 0;
+            } else {
+                open();
+            }
+            return;
+        }
+        if (success && requestsPerMinute < properties.getRequestsPerMinute()) {
+            requestsPerMinute = Math.min(properties.getRequestsPerMinute(),
+                    requestsPerMinute + properties.getRequestsPerMinute() / 20.0);
+        }
+        if (recorded == outcomes.length && !outcomes[next]) {
+            failures--;
+        }
+        outcomes[next] = success;
+        next = (next + 1) % outcomes.length;
+        recorded = Math.min(outcomes.length, recorded + 1);
+        if (!success) {
+            failures++;
+        }
+        if (state == CircuitState.CLOSED && recorded >= properties.getCircuitMinimumCalls()
+                && failures * 100 >= properties.getCircuitFailureRatePercent() * recorded) {
+            open();
+        }
+    }
+
+    private void onThrottled(Duration retryAfter) {
+        throttled.increment();
+        long now = nanoTime.getAsLong();
+        pausedUntil = Math.max(pausedUntil, now + retryAfter.toNanos());
+        tokens = 0;
+        lastRefill = now;
+        if (properties.getRequestsPerMinute() > 0) {
+            requestsPerMinute = Math.max(properties.getMinRequestsPerMinute(), requestsPerMinute / 2);
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            trialInFlight = false;
+        }
+        logger.warn("Upstream throttled us, pausing calls for {}s at {} requests/min",
+                retryAfter.getSeconds(), requestsPerMinute);
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openUntil = nanoTime.getAsLong() + properties.getCircuitOpenDuration().toNanos();
+        trialInFlight = false;
+        logger.warn("Upstream circuit opened for {}s after {} failures in {} calls",
+                properties.getCircuitOpenDuration().getSeconds(), failures, recorded);
+    }
+
+    private Duration retryAfterOf(HttpClientErrorException tooMany) {
+        HttpHeaders headers = tooMany.getResponseHeaders();
+        String header = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (header != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    Duration until = Duration.between(ZonedDateTime.now(),
+                            ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                    return until.isNegative() ? Duration.ZERO : until;
+                } catch (DateTimeParseException ignored) {
+                    // fall through to the body and then the default
+                }
+            }
+        }
+        Matcher body = AVAILABLE_IN.matcher(tooMany.getResponseBodyAsString());
+        return body.find() ? Duration.ofSeconds(Long.parseLong(body.group(1))) : properties.getDefaultRetryAfter();
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("space.upstream.rejected")
+                .description("Upstream calls not made, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
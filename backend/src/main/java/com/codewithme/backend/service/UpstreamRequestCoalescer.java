@@ -0,0 +1,106 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight guard for upstream calls. While a request for a given key
+ * (the upstream URL) is in progress, every other caller asking for the same key
+ * waits for that request and shares its result or failure instead of issuing
+ * its own call.
+ */
+@Component
+public class UpstreamRequestCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRequestCoalescer.class);
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    public UpstreamRequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder("space.upstream.coalesced")
+                .description("Upstream calls avoided by joining an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("space.upstream.inflight", inFlight, ConcurrentMap::size)
+                .description("Distinct upstream requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalescedCounter.increment();
+            logger.debug("Joining in-flight upstream request for {}", key);
+            return (T) await(existing);
+        }
+
+        try {
+            T result = call.get();
+            promise.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too, or followers already waiting on the promise would block forever
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: callers for the same key share
+     * the future returned by the first caller's {@code call}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalescedCounter.increment();
+            logger.debug("Joining in-flight upstream request for {}", key);
+            return (CompletableFuture<T>) existing;
+        }
+
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, error) -> {
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                promise.complete(result);
+            }
+        });
+        return (CompletableFuture<T>) promise;
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
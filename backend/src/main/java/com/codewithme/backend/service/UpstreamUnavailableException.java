@@ -0,0 +1,21 @@
+package com.codewithme.backend.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling the upstream when {@link UpstreamGuard} holds the
+ * call back: the quota is spent, the breaker is open, or upstream calls are
+ * switched off (offline mode).
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,47 @@
+package com.codewithme.backend.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link UserLookupCache}, bound from {@code auth.user-cache.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.user-cache")
+public class UserCacheProperties {
+
+    // Emails whose lookup result is kept, found or not
+    private long maximumSize = 10_000;
+
+    // How long a found user's credentials are reused
+    private Duration ttl = Duration.ofMinutes(10);
+
+    // How long "no such user" is remembered; short, since another replica may register the email meanwhile
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+}
@@ -1,7 +1,7 @@
 package com.codewithme.backend.service;
 
-import com.codewithme.backend.User;
-import com.codewithme.backend.UserRepository;
+import com.codewithme.backend.UserCredentials;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
  import org.springframework.security.core.userdetails.UserDetails;
@@ -10,18 +10,16 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserDetailsServiceImplSSI implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
 
-    public UserDetailsServiceImplSSI(UserRepository userRepository){
-        this.userRepository = userRepository;
+    public UserDetailsServiceImplSSI(UserLookupCache userLookupCache){
+        this.userLookupCache = userLookupCache;
     }
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email);
-        if (user == null) {
-            throw new UsernameNotFoundException("User not found with email: " + email);
-        }
-        return user;
+        UserCredentials user = userLookupCache.findCredentials(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return User.withUsername(user.email()).password(user.password()).roles("USER").build();
 
     }
 
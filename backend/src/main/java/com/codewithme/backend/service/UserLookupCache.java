@@ -0,0 +1,98 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.UserCredentials;
+import com.codewithme.backend.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of user lookups by email, in front of {@link UserRepository}.
+ *
+ * Found users are kept as {@link UserCredentials} for {@code auth.user-cache.ttl};
+ * emails with no user are kept for the shorter {@code auth.user-cache.negative-ttl},
+ * so repeated logins for unknown accounts stop reaching the database too. Writes
+ * go through {@link #register}, which drops the email's entry.
+ */
+@Component
+public class UserLookupCache {
+    static final String CACHE_NAME = "userLookups";
+
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<UserCredentials>> cache;
+
+    public UserLookupCache(UserRepository userRepository, UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new LookupExpiry(properties))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<UserCredentials> findCredentials(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return cache.get(email, key -> Optional.ofNullable(userRepository.findCredentialsByEmail(key)));
+    }
+
+    /**
+     * Answers from the cache when the email was looked up recently, else with
+     * an existence-only query that loads no columns and is not cached.
+     */
+    public boolean exists(String email) {
+        if (email == null) {
+            return false;
+        }
+        Optional<UserCredentials> cached = cache.getIfPresent(email);
+        return cached != null ? cached.isPresent() : userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Inserts the user in a single statement and returns false if the email was
+     * already taken.
+     */
+    public boolean register(String email, String passwordHash) {
+        try {
+            return userRepository.insertIfAbsent(email, passwordHash) > 0;
+        } finally {
+            // Also after a failed insert, so a cached "no such user" cannot outlive a concurrent signup
+            cache.invalidate(email);
+        }
+    }
+
+    /**
+     * Found users live for {@code ttl}, misses for {@code negative-ttl}, counted from the lookup.
+     */
+    private static class LookupExpiry implements Expiry<String, Optional<UserCredentials>> {
+        private final UserCacheProperties properties;
+
+        LookupExpiry(UserCacheProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public long expireAfterCreate(String email, Optional<UserCredentials> user, long currentTime) {
+            return (user.isPresent() ? properties.getTtl() : properties.getNegativeTtl()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String email, Optional<UserCredentials> user, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(email, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String email, Optional<UserCredentials> user, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
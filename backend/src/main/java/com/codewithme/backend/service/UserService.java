@@ -1,9 +1,11 @@
 package com.codewithme.backend.service;
 
+import com.codewithme.dto.AuthTokens;
 import com.codewithme.dto.UserDTO;
 
 public interface UserService {
 
     void registerUser(UserDTO userDTO);
-    String loginUser(UserDTO loginDTO) throws Exception;
+    AuthTokens loginUser(UserDTO loginDTO) throws Exception;
+    AuthTokens refreshTokens(String refreshToken);
 }
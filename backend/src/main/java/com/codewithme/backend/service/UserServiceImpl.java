@@ -1,46 +1,55 @@
 package com.codewithme.backend.service;
 
-import com.codewithme.backend.User;
-import com.codewithme.backend.UserRepository;
+import com.codewithme.backend.UserCredentials;
+import com.codewithme.dto.AuthTokens;
 import com.codewithme.dto.UserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserServiceImpl implements UserService {
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHasher passwordHasher;
+    private final TokenService tokenService;
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+    public UserServiceImpl(UserLookupCache userLookupCache, PasswordHasher passwordHasher, TokenService tokenService) {
+        this.userLookupCache = userLookupCache;
+        this.passwordHasher = passwordHasher;
+        this.tokenService = tokenService;
     }
 
 
     public void registerUser(UserDTO userDTO) {
-        if(userRepository.findByEmail(userDTO.getEmail()) != null) {
+        // No read first: the unique constraint on email decides, in the same round trip as the insert
+        String passwordHash = passwordHasher.encode(userDTO.getPassword());
+        if (!userLookupCache.register(userDTO.getEmail(), passwordHash)) {
             throw new RuntimeException("Email is already registered");
         }
-        User user = new User();
-        user.setEmail(userDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
-        userRepository.save(user);
     }
 
 
-    public String loginUser(UserDTO loginDTO) throws Exception {
-        User user = userRepository.findByEmail(loginDTO.getEmail());
+    public AuthTokens loginUser(UserDTO loginDTO) throws Exception {
+        UserCredentials user = userLookupCache.findCredentials(loginDTO.getEmail()).orElse(null);
 
         if (user == null) {
             throw new Exception("User not found");
         }
 
-        if (!passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginDTO.getPassword(), user.password())) {
             throw new Exception("Invalid password");
         }
 
-        // Here, you could generate and return a JWT token or just a success message
-        return "Login successful";
+        // The password is checked once here; later requests carry the access token instead
+        return tokenService.issue(user.email());
+    }
+
+
+    public AuthTokens refreshTokens(String refreshToken) {
+        TokenService.Claims claims = tokenService.verify(refreshToken, TokenService.REFRESH);
+        // One lookup per refresh, so a deleted account stops getting new access tokens
+        if (!userLookupCache.exists(claims.subject())) {
+            throw new InvalidTokenException("User no longer exists");
+        }
+        return tokenService.issue(claims.subject());
     }
 }
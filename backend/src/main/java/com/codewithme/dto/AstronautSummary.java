@@ -0,0 +1,20 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * The astronaut fields rendered by the astronaut list page.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record AstronautSummary(
+        long id,
+        String name,
+        String nationality,
+        String profileImage,
+        String profileImageThumbnail,
+        NamedRef status,
+        NamedRef agency) {
+}
@@ -0,0 +1,7 @@
+package com.codewithme.dto;
+
+/**
+ * A freshly issued token pair. {@code expiresIn} is the access token's lifetime in seconds.
+ */
+public record AuthTokens(String accessToken, String refreshToken, long expiresIn) {
+}
@@ -0,0 +1,10 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The launch fields the live launch stream tracks: status name and NET.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LaunchState(String id, String name, String status, String net) {
+}
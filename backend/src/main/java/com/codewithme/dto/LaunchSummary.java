@@ -0,0 +1,20 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * The launch fields rendered by the launch list pages.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record LaunchSummary(
+        String id,
+        String name,
+        String image,
+        String net,
+        NamedRef status,
+        NamedRef launchServiceProvider,
+        NamedRef mission) {
+}
@@ -0,0 +1,21 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One change to the upcoming launches, sent as a {@code launch} event on
+ * {@code /api/space/launches/stream}. {@code change} is {@code added},
+ * {@code removed}, {@code status} or {@code net}; the previous value is set
+ * for the last two.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LaunchUpdate(String change, LaunchState launch, String previousStatus, String previousNet) {
+
+    public static LaunchUpdate added(LaunchState launch) {
+        return new LaunchUpdate("added", launch, null, null);
+    }
+
+    public static LaunchUpdate removed(LaunchState launch) {
+        return new LaunchUpdate("removed", launch, null, null);
+    }
+}
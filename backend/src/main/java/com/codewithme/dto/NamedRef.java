@@ -0,0 +1,12 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A nested upstream object of which we only return the name, e.g. a launch status.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NamedRef(String name, String abbrev) {
+}
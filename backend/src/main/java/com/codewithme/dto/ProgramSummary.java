@@ -0,0 +1,19 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * The program fields rendered by the program list page.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record ProgramSummary(
+        long id,
+        String name,
+        String description,
+        String imageUrl,
+        String startDate,
+        String endDate) {
+}
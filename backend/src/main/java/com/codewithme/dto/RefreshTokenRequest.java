@@ -0,0 +1,7 @@
+package com.codewithme.dto;
+
+/**
+ * Body of {@code POST /api/token/refresh}.
+ */
+public record RefreshTokenRequest(String refreshToken) {
+}
@@ -0,0 +1,16 @@
+package com.codewithme.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of a batch response. {@code status} is the HTTP status the single
+ * detail endpoint would have answered with; {@code data} is set on 200 and
+ * {@code error} otherwise. {@code staleSeconds} is only set for stale copies.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SpaceBatchItem(String id, int status, Object data, Long ageSeconds, Long staleSeconds, String error) {
+
+    public static SpaceBatchItem failed(String id, int status, String error) {
+        return new SpaceBatchItem(id, status, null, null, null, error);
+    }
+}
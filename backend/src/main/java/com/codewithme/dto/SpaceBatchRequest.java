@@ -0,0 +1,9 @@
+package com.codewithme.dto;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/space/{resource}/batch}: the detail records to load.
+ */
+public record SpaceBatchRequest(List<String> ids) {
+}
@@ -0,0 +1,9 @@
+package com.codewithme.dto;
+
+import java.util.List;
+
+/**
+ * Combined batch response, one item per distinct requested id in request order.
+ */
+public record SpaceBatchResponse(List<SpaceBatchItem> results) {
+}
@@ -0,0 +1,9 @@
+package com.codewithme.dto;
+
+import java.util.List;
+
+/**
+ * One page of a Space Devs list response, with typed items.
+ */
+public record SpacePage<T>(long count, String next, String previous, List<T> results) {
+}
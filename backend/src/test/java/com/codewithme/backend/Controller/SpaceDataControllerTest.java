@@ -0,0 +1,147 @@
+package com.codewithme.backend.Controller;
+
+import com.codewithme.backend.service.SpaceBatchService;
+import com.codewithme.backend.service.SpaceDataResult;
+import com.codewithme.backend.service.SpaceDataService;
+import com.codewithme.backend.service.SpaceFieldProjection;
+import com.codewithme.backend.service.SpaceResponseBodyCache;
+import com.codewithme.backend.service.SpaceResponseCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SpaceDataControllerTest {
+
+    @Test
+    void freshResultCarriesAgeOnly() {
+        ResponseEntity<?> response = SpaceDataController.toResponse(
+                SpaceDataResult.fresh("page", Instant.now().minusSeconds(42)));
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("page", response.getBody());
+        assertEquals("42", response.getHeaders().getFirst(HttpHeaders.AGE));
+        assertNull(response.getHeaders().getFirst(SpaceDataController.STALE_HEADER));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutABody() throws Exception {
+        SpaceDataService spaceDataService = mock(SpaceDataService.class);
+        when(spaceDataService.getAgencyDetails("44")).thenReturn(
+                new SpaceDataResult(Map.of("id", 44), Instant.now(), Duration.ZERO, "\"abc\""));
+        MockMvc mockMvc = mockMvc(spaceDataService, new SpaceResponseCacheProperties());
+
+        mockMvc.perform(get("/api/space/agencies/44"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""));
+        mockMvc.perform(get("/api/space/agencies/44").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void preEncodedBodiesAreServedGzippedWhenAccepted() throws Exception {
+        SpaceDataService spaceDataService = mock(SpaceDataService.class);
+        Map<String, Object> page = Map.of("count", 1, "results", List.of(Map.of("id", 7, "name", "x".repeat(2000))));
+        when(spaceDataService.getPrograms(0, 20)).thenReturn(
+                new SpaceDataResult(page, Instant.now(), Duration.ZERO, "\"abc\""));
+        SpaceResponseCacheProperties properties = new SpaceResponseCacheProperties();
+        properties.setEnabled(true);
+        MockMvc mockMvc = mockMvc(spaceDataService, properties);
+
+        MvcResult gzipped = mockMvc.perform(get("/api/space/programs").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-gzip\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+        byte[] json;
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            json = in.readAllBytes();
+        }
+        assertEquals(7, ((Map<?, ?>) ((List<?>) new ObjectMapper().readValue(json, Map.class).get("results")).get(0)).get("id"));
+        mockMvc.perform(get("/api/space/programs"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().json("{\"count\":1}"));
+    }
+
+    @Test
+    void revalidationIsAnsweredBeforeTheBodyIsEncoded() throws Exception {
+        SpaceDataService spaceDataService = mock(SpaceDataService.class);
+        when(spaceDataService.getPrograms(0, 20)).thenReturn(
+                new SpaceDataResult(Map.of("count", 1), Instant.now(), Duration.ZERO, "\"abc\""));
+        SpaceResponseBodyCache responseBodies = mock(SpaceResponseBodyCache.class);
+        MockMvc mockMvc = mockMvc(spaceDataService, responseBodies);
+
+        mockMvc.perform(get("/api/space/programs").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/space/programs").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"old\", W/\"abc-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-gzip\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+        verify(responseBodies, never()).get(any(), any(), any());
+    }
+
+    @Test
+    void gzipIsOnlyChosenWhenNotRefused() {
+        assertTrue(SpaceResponseRenderer.acceptsGzip("gzip, deflate, br"));
+        assertTrue(SpaceResponseRenderer.acceptsGzip("br;q=1.0, *;q=0.5"));
+        assertFalse(SpaceResponseRenderer.acceptsGzip("gzip;q=0"));
+        assertFalse(SpaceResponseRenderer.acceptsGzip("br"));
+        assertFalse(SpaceResponseRenderer.acceptsGzip(null));
+    }
+
+    @Test
+    void staleResultIsFlagged() {
+        ResponseEntity<?> response = SpaceDataController.toResponse(
+                new SpaceDataResult("page", Instant.now().minusSeconds(400), Duration.ofSeconds(100)));
+
+        assertEquals("400", response.getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals("100", response.getHeaders().getFirst(SpaceDataController.STALE_HEADER));
+        assertEquals("110 - \"Response is Stale\"", response.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    private static MockMvc mockMvc(SpaceDataService spaceDataService, SpaceResponseCacheProperties properties) {
+        return mockMvc(spaceDataService,
+                new SpaceResponseBodyCache(properties, new ObjectMapper(), new SimpleMeterRegistry()));
+    }
+
+    private static MockMvc mockMvc(SpaceDataService spaceDataService, SpaceResponseBodyCache responseBodies) {
+        SpaceResponseRenderer renderer = new SpaceResponseRenderer(new SpaceFieldProjection(new ObjectMapper()),
+                responseBodies);
+        return MockMvcBuilders.standaloneSetup(
+                new SpaceDataController(spaceDataService, mock(SpaceBatchService.class), renderer)).build();
+    }
+}
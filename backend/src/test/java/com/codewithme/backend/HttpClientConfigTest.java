@@ -0,0 +1,110 @@
+package com.codewithme.backend;
+
+import com.codewithme.backend.service.SpaceHttpClientProperties;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+    private WireMockServer upstream;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private ScheduledThreadPoolExecutor deadlineScheduler;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new WireMockServer(options().dynamicPort());
+        upstream.start();
+    }
+
+    private void buildClient(Duration readTimeout, Duration totalTimeout) {
+        SpaceHttpClientProperties properties = new SpaceHttpClientProperties();
+        properties.setReadTimeout(readTimeout);
+        properties.setTotalTimeout(totalTimeout);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        deadlineScheduler = config.spaceHttpDeadlineScheduler();
+        connectionManager = config.spaceConnectionManager(properties, meterRegistry);
+        httpClient = config.spaceHttpClient(connectionManager, properties, meterRegistry, deadlineScheduler);
+        restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+            connectionManager.close();
+            deadlineScheduler.shutdownNow();
+        }
+        upstream.stop();
+    }
+
+    @Test
+    void completedExchangeLeavesNoDeadlineQueued() {
+        buildClient(Duration.ofSeconds(5), Duration.ofSeconds(10));
+        upstream.stubFor(get(urlEqualTo("/agencies/")).willReturn(okJson("{\"count\":0}")));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("{\"count\":0}", restTemplate.getForObject(url("/agencies/"), String.class));
+        }
+
+        assertEquals(0, deadlineScheduler.getQueue().size());
+    }
+
+    @Test
+    void readTimeoutFiresWhenResponseHeadIsLate() {
+        buildClient(Duration.ofSeconds(1), Duration.ofSeconds(10));
+        upstream.stubFor(get(urlEqualTo("/slow/")).willReturn(okJson("{}").withFixedDelay(5_000)));
+
+        long started = System.nanoTime();
+        ResourceAccessException failure = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(url("/slow/"), String.class));
+
+        assertInstanceOf(SocketTimeoutException.class, failure.getCause());
+        assertTrue(elapsedMillis(started) < 3_000, "read timeout should fire well before the upstream answers");
+    }
+
+    @Test
+    void totalDeadlineAbortsExchangeBeforeReadTimeout() {
+        buildClient(Duration.ofSeconds(10), Duration.ofSeconds(1));
+        upstream.stubFor(get(urlEqualTo("/slow/")).willReturn(okJson("{}").withFixedDelay(5_000)));
+
+        long started = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url("/slow/"), String.class));
+
+        long elapsed = elapsedMillis(started);
+        assertTrue(elapsed >= 900 && elapsed < 3_000, "aborted after " + elapsed + " ms");
+        assertEquals(0, deadlineScheduler.getQueue().size());
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + upstream.port() + path;
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,98 @@
+package com.codewithme.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link UserRepository#insertIfAbsent} is Postgres SQL ({@code ON CONFLICT}),
+ * so it runs against a real Postgres; skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Every insert commits on its own, as in a signup, so concurrent inserts really contend
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void insertsANewUser() {
+        assertEquals(1, userRepository.insertIfAbsent("ada@example.com", "hash"));
+
+        assertEquals("hash", userRepository.findCredentialsByEmail("ada@example.com").password());
+    }
+
+    @Test
+    void leavesAnExistingUserAsItIs() {
+        userRepository.insertIfAbsent("ada@example.com", "first");
+
+        assertEquals(0, userRepository.insertIfAbsent("ada@example.com", "second"));
+        assertEquals("first", userRepository.findCredentialsByEmail("ada@example.com").password());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void concurrentSignupsForOneEmailInsertOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 20; i++) {
+                String email = "user" + i + "@example.com";
+                CountDownLatch start = new CountDownLatch(1);
+                Callable<Integer> signup = () -> {
+                    start.await();
+                    return userRepository.insertIfAbsent(email, "hash");
+                };
+                List<Future<Integer>> inserts = List.of(executor.submit(signup), executor.submit(signup));
+                start.countDown();
+
+                int inserted = 0;
+                for (Future<Integer> insert : inserts) {
+                    inserted += insert.get(10, TimeUnit.SECONDS);
+                }
+                assertEquals(1, inserted, email);
+            }
+            assertEquals(20, userRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuthAttemptThrottleTest {
+
+    private final AuthThrottleProperties properties = new AuthThrottleProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void failedLoginsLockTheEmailUntilTheWindowEndsOrALoginSucceeds() {
+        properties.setMaxFailuresPerEmail(2);
+        AuthAttemptThrottle throttle = new AuthAttemptThrottle(properties, meterRegistry, now::get);
+
+        throttle.checkLogin("ada@example.com", "10.0.0.1");
+        throttle.recordLoginFailure("ada@example.com");
+        throttle.recordLoginFailure("ADA@example.com ");
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        AuthThrottledException e = assertThrows(AuthThrottledException.class,
+                () -> throttle.checkLogin("ada@example.com", "10.0.0.2"));
+        assertEquals(Duration.ofMinutes(10), e.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.throttled").tag("reason", "email").counter().count());
+        // Other accounts are unaffected
+        throttle.checkLogin("bob@example.com", "10.0.0.2");
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        throttle.checkLogin("ada@example.com", "10.0.0.2");
+        throttle.recordLoginFailure("ada@example.com");
+        throttle.recordLoginFailure("ada@example.com");
+        throttle.recordLoginSuccess("ada@example.com");
+        throttle.checkLogin("ada@example.com", "10.0.0.2");
+    }
+
+    @Test
+    void everyAttemptCountsAgainstTheClientAddress() {
+        properties.setMaxAttemptsPerIp(3);
+        AuthAttemptThrottle throttle = new AuthAttemptThrottle(properties, meterRegistry, now::get);
+
+        throttle.checkSignup("10.0.0.1");
+        throttle.checkLogin("a@example.com", "10.0.0.1");
+        throttle.checkLogin("b@example.com", "10.0.0.1");
+
+        assertThrows(AuthThrottledException.class, () -> throttle.checkLogin("c@example.com", "10.0.0.1"));
+        assertThrows(AuthThrottledException.class, () -> throttle.checkSignup("10.0.0.1"));
+        throttle.checkSignup("10.0.0.9");
+        assertEquals(2.0, meterRegistry.get("auth.throttled").tag("reason", "ip").counter().count());
+
+        now.addAndGet(Duration.ofMinutes(15).toNanos());
+        throttle.checkLogin("c@example.com", "10.0.0.1");
+    }
+}
@@ -0,0 +1,198 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.Controller.LaunchStreamController;
+import com.codewithme.dto.LaunchState;
+import com.codewithme.dto.LaunchUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LaunchUpdateStreamTest {
+
+    private final SpaceDataService spaceDataService = mock(SpaceDataService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // One sender thread, so an empty task submitted after the others marks when they are done
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+    private final ExecutorService writer = Executors.newCachedThreadPool();
+    private final LaunchStreamProperties properties = new LaunchStreamProperties();
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+        writer.shutdownNow();
+    }
+
+    @Test
+    void diffReportsNewRemovedAndChangedLaunches() {
+        Map<String, LaunchState> before = states(
+                new LaunchState("a", "A", "Go", "2026-11-01T00:00:00Z"),
+                new LaunchState("b", "B", "TBD", "2026-11-02T00:00:00Z"),
+                new LaunchState("c", "C", "Go", "2026-11-03T00:00:00Z"));
+        Map<String, LaunchState> after = states(
+                new LaunchState("a", "A", "Go", "2026-11-01T00:00:00Z"),
+                new LaunchState("b", "B", "Go", "2026-11-04T00:00:00Z"),
+                new LaunchState("d", "D", "TBC", "2026-11-05T00:00:00Z"));
+
+        List<LaunchUpdate> updates = LaunchUpdateStream.diff(before, after);
+
+        assertEquals(List.of(
+                new LaunchUpdate("status", after.get("b"), "TBD", null),
+                new LaunchUpdate("net", after.get("b"), null, "2026-11-02T00:00:00Z"),
+                LaunchUpdate.added(after.get("d")),
+                LaunchUpdate.removed(before.get("c"))), updates);
+    }
+
+    @Test
+    void subscribersGetASnapshotThenOnlyTheChanges() throws Exception {
+        when(spaceDataService.getLaunches("upcoming", 0, 100)).thenReturn(
+                page(launch("a", "Go")), page(launch("a", "Success")));
+        LaunchUpdateStream stream = newStream();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LaunchStreamController(stream, properties)).build();
+
+        MockHttpServletResponse first = mockMvc.perform(get("/api/space/launches/stream"))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+        // The first poll has to finish first, or the second subscriber would start another
+        awaitSender();
+        MockHttpServletResponse second = mockMvc.perform(get("/api/space/launches/stream"))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+        awaitSender();
+        stream.refresh();
+        awaitSender();
+
+        for (MockHttpServletResponse response : List.of(first, second)) {
+            String body = response.getContentAsString();
+            assertTrue(body.contains("event:snapshot\ndata:[{\"id\":\"a\",\"name\":\"Launch a\",\"status\":\"Go\""), body);
+            assertTrue(body.contains("event:launch\ndata:{\"change\":\"status\""), body);
+            assertTrue(body.contains("\"previousStatus\":\"Go\""), body);
+        }
+        // Two subscribers, two polls: the upstream page was read once per poll, not per subscriber
+        verify(spaceDataService, times(2)).getLaunches("upcoming", 0, 100);
+        assertEquals(2, stream.subscriberCount());
+    }
+
+    @Test
+    void aSubscriberThatFallsBehindGetsAFreshSnapshotInsteadOfTheBacklog() throws Exception {
+        properties.setBufferSize(1);
+        when(spaceDataService.getLaunches("upcoming", 0, 100)).thenReturn(
+                page(launch("a", "Go")), page(launch("a", "Hold")), page(launch("a", "Go")),
+                page(launch("a", "Success")));
+        LaunchUpdateStream stream = newStream();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LaunchStreamController(stream, properties)).build();
+        MockHttpServletResponse response = mockMvc.perform(get("/api/space/launches/stream"))
+                .andReturn().getResponse();
+        awaitSender();
+
+        // Hold the sender thread, as a client that stops reading would
+        CountDownLatch stalled = new CountDownLatch(1);
+        sender.execute(() -> awaitQuietly(stalled));
+        stream.refresh();
+        stream.refresh();
+        stream.refresh();
+        stalled.countDown();
+        awaitSender();
+
+        String body = response.getContentAsString();
+        assertEquals(2, count(body, "event:snapshot"));
+        assertTrue(body.contains("event:snapshot\ndata:[{\"id\":\"a\",\"name\":\"Launch a\",\"status\":\"Success\""), body);
+        assertFalse(body.contains("\"status\":\"Hold\""), "the overflowed diffs are dropped: " + body);
+        assertEquals(1.0, meterRegistry.get("space.stream.resyncs").counter().count());
+    }
+
+    @Test
+    void aClientThatStopsReadingIsDisconnectedWithoutHoldingTheSender() throws Exception {
+        properties.setSendTimeout(Duration.ofMillis(100));
+        when(spaceDataService.getLaunches("upcoming", 0, 100)).thenReturn(page(launch("a", "Go")));
+        // Every write blocks, as on a socket whose client stopped reading
+        CountDownLatch stalled = new CountDownLatch(1);
+        ExecutorService stalledWriter = Executors.newSingleThreadExecutor();
+        stalledWriter.execute(() -> awaitQuietly(stalled));
+        LaunchUpdateStream stream = new LaunchUpdateStream(spaceDataService, properties, new ObjectMapper(),
+                meterRegistry, sender, stalledWriter);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LaunchStreamController(stream, properties)).build();
+        try {
+            mockMvc.perform(get("/api/space/launches/stream")).andExpect(request().asyncStarted());
+            awaitSender();
+
+            assertEquals(0, stream.subscriberCount());
+            assertEquals(1.0, meterRegistry.get("space.stream.send.timeouts").counter().count());
+        } finally {
+            stalled.countDown();
+            stalledWriter.shutdownNow();
+        }
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreTurnedAway() throws Exception {
+        properties.setMaxSubscribers(1);
+        when(spaceDataService.getLaunches("upcoming", 0, 100)).thenReturn(page(launch("a", "Go")));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LaunchStreamController(newStream(), properties)).build();
+
+        mockMvc.perform(get("/api/space/launches/stream")).andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/space/launches/stream"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    private LaunchUpdateStream newStream() {
+        return new LaunchUpdateStream(spaceDataService, properties, new ObjectMapper(), meterRegistry, sender, writer);
+    }
+
+    private void awaitSender() throws Exception {
+        // Twice, since a finishing drain may queue one more
+        sender.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        sender.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int count(String text, String needle) {
+        return text.split(needle, -1).length - 1;
+    }
+
+    private static Map<String, LaunchState> states(LaunchState... launches) {
+        Map<String, LaunchState> states = new LinkedHashMap<>();
+        for (LaunchState launch : launches) {
+            states.put(launch.id(), launch);
+        }
+        return states;
+    }
+
+    private static Map<String, Object> launch(String id, String status) {
+        return Map.of("id", id, "name", "Launch " + id, "status", Map.of("name", status),
+                "net", "2026-11-01T00:00:00Z");
+    }
+
+    private static SpaceDataResult page(Map<String, Object> launch) {
+        return new SpaceDataResult(Map.of("count", 1, "results", List.of(launch)), Instant.now(), Duration.ZERO);
+    }
+}
@@ -0,0 +1,82 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashesOnThePoolAndRecordsTheirDuration() {
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        hasher = newHasher(1, 1);
+
+        assertEquals("hash", hasher.encode("secret"));
+        assertTrue(hasher.matches("secret", "hash"));
+        assertEquals(1, meterRegistry.get("auth.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void refusesAtOnceWhenEveryThreadAndQueueSlotIsTaken() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        hasher = newHasher(1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        awaitQueued();
+
+        AuthThrottledException e = assertThrows(AuthThrottledException.class, () -> hasher.encode("c"));
+        assertEquals(Duration.ofSeconds(2), e.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.hash.queue").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private PasswordHasher newHasher(int threads, int queueSize) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueSize(queueSize);
+        return new PasswordHasher(passwordEncoder, properties, meterRegistry);
+    }
+}
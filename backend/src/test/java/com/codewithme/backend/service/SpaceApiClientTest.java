@@ -0,0 +1,185 @@
+package com.codewithme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpaceApiClientTest {
+
+    private final HttpClient httpClient = mock(HttpClient.class);
+    private final CompletableFuture<HttpResponse<byte[]>> firstResponse = new CompletableFuture<>();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private SpaceHttpClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SpaceHttpClientProperties();
+        properties.setMaxConnections(1);
+        // The first call stays in flight until the test completes it; later ones answer at once
+        when(httpClient.sendAsync(any(HttpRequest.class), any())).thenAnswer(invocation ->
+                upstreamCalls.incrementAndGet() == 1 ? firstResponse : CompletableFuture.completedFuture(ok()));
+    }
+
+    @Test
+    void requestsBeyondTheWaitQueueFailFast() {
+        properties.setAsyncQueueSize(1);
+        SpaceApiClient client = newClient();
+
+        CompletableFuture<Object> inFlight = client.getAsync("http://upstream.test/launch/1/", "launch");
+        CompletableFuture<Object> queued = client.getAsync("http://upstream.test/launch/2/", "launch");
+        CompletableFuture<Object> rejected = client.getAsync("http://upstream.test/launch/3/", "launch");
+
+        assertFailedWith(RejectedExecutionException.class, rejected);
+        firstResponse.complete(ok());
+        assertEquals(2, List.of(inFlight.join(), queued.join()).size());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void waitersOlderThanTheTotalTimeoutAreNotSentUpstream() throws InterruptedException {
+        properties.setTotalTimeout(Duration.ofMillis(100));
+        SpaceApiClient client = newClient();
+
+        CompletableFuture<Object> inFlight = client.getAsync("http://upstream.test/launch/1/", "launch");
+        CompletableFuture<Object> expired = client.getAsync("http://upstream.test/launch/2/", "launch");
+        Thread.sleep(150);
+        firstResponse.complete(ok());
+
+        inFlight.join();
+        assertFailedWith(TimeoutException.class, expired);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void manyRequestsFailingInlineDrainWithoutRecursion() {
+        int queued = 20_000;
+        properties.setAsyncQueueSize(queued);
+        SpaceApiClient client = newClient();
+
+        CompletableFuture<Object> inFlight = client.getAsync("http://upstream.test/launch/0/", "launch");
+        List<CompletableFuture<Object>> invalid = new ArrayList<>();
+        for (int i = 0; i < queued; i++) {
+            // A space in the id makes URI.create throw before anything is sent
+            invalid.add(client.getAsync("http://upstream.test/launch/bad " + i + "/", "launch"));
+        }
+        firstResponse.complete(ok());
+
+        inFlight.join();
+        for (CompletableFuture<Object> request : invalid) {
+            assertFailedWith(IllegalArgumentException.class, request);
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void conditionalGetSendsTheHeldValidator() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+        upstream.expect(requestTo("http://upstream.test/agencies/"))
+                .andExpect(request -> assertTrue(request.getHeaders().getIfNoneMatch().isEmpty()))
+                .andRespond(withSuccess("{\"count\":1}", MediaType.APPLICATION_JSON).header("ETag", "\"v1\""));
+        upstream.expect(requestTo("http://upstream.test/agencies/"))
+                .andExpect(header("If-None-Match", "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        SpaceApiClient client = newClient(restTemplate);
+
+        UpstreamBody first = client.getConditional("http://upstream.test/agencies/", "agencies", null);
+        UpstreamBody second = client.getConditional("http://upstream.test/agencies/", "agencies", first.etag());
+
+        assertEquals("\"v1\"", first.etag());
+        assertEquals(Map.of("count", 1), first.body());
+        assertTrue(second.notModified());
+        upstream.verify();
+    }
+
+    @Test
+    void upstreamWaitPayloadSizeAndDecodingAreRecordedApart() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+        upstream.expect(requestTo("http://upstream.test/agencies/"))
+                .andRespond(withSuccess("{\"count\":1}", MediaType.APPLICATION_JSON));
+        upstream.expect(requestTo("http://upstream.test/agencies/"))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SpaceApiClient client = newClient(restTemplate, meterRegistry);
+
+        assertEquals(Map.of("count", 1), client.get("http://upstream.test/agencies/", "agencies"));
+        assertThrows(HttpClientErrorException.class, () -> client.get("http://upstream.test/agencies/", "agencies"));
+
+        assertEquals(1, meterRegistry.get("space.upstream.requests")
+                .tags("resource", "agencies", "status", "200", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("space.upstream.requests")
+                .tags("resource", "agencies", "status", "429", "outcome", "client_error").timer().count());
+        assertEquals(11.0, meterRegistry.get("space.upstream.response.size").tag("resource", "agencies")
+                .summary().totalAmount());
+        assertEquals(1, meterRegistry.get("space.upstream.deserialization")
+                .tags("resource", "agencies", "format", "untyped").timer().count());
+        upstream.verify();
+    }
+
+    private SpaceApiClient newClient() {
+        return newClient(new RestTemplate());
+    }
+
+    private SpaceApiClient newClient(RestTemplate restTemplate) {
+        return newClient(restTemplate, new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private SpaceApiClient newClient(RestTemplate restTemplate, SimpleMeterRegistry meterRegistry) {
+        ObjectProvider<HttpClient> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(httpClient);
+        // These tests are about queueing, not the quota
+        SpaceUpstreamProperties upstreamProperties = new SpaceUpstreamProperties();
+        upstreamProperties.setRequestsPerMinute(0);
+        return new SpaceApiClient(restTemplate, new UpstreamRequestCoalescer(meterRegistry),
+                new UpstreamGuard(upstreamProperties, meterRegistry),
+                new SpaceJsonParser(new ObjectMapper()), provider, properties, meterRegistry, "http://upstream.test");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> ok() {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn("{}".getBytes());
+        return response;
+    }
+
+    private static void assertFailedWith(Class<? extends Throwable> expected, CompletableFuture<?> future) {
+        assertTrue(future.isDone(), "should have completed");
+        CompletionException failure = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(expected, failure.getCause());
+    }
+}
@@ -0,0 +1,113 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpaceBatchItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpaceBatchServiceTest {
+
+    private SpaceDataService spaceDataService;
+    private SpaceBatchProperties properties;
+    private SpaceBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        spaceDataService = mock(SpaceDataService.class);
+        properties = new SpaceBatchProperties();
+        properties.setParallelism(2);
+        batchService = new SpaceBatchService(spaceDataService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void reportsStatusPerIdInRequestOrder() {
+        when(spaceDataService.fetchDetails(SpaceResource.AGENCY_DETAILS, "1"))
+                .thenReturn(SpaceDataResult.fresh(Map.of("id", 1), Instant.now()));
+        when(spaceDataService.fetchDetails(SpaceResource.AGENCY_DETAILS, "2"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(spaceDataService.fetchDetails(SpaceResource.AGENCY_DETAILS, "3"))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null));
+
+        List<SpaceBatchItem> items = batchService.getDetails(SpaceResource.AGENCIES, List.of("1", "2", "1", "3", "../x"));
+
+        assertEquals(List.of("1", "2", "3", "../x"), items.stream().map(SpaceBatchItem::id).toList());
+        assertEquals(List.of(200, 404, 502, 400), items.stream().map(SpaceBatchItem::status).toList());
+        assertEquals(Map.of("id", 1), items.get(0).data());
+        assertNull(items.get(0).staleSeconds());
+        verify(spaceDataService, times(1)).fetchDetails(SpaceResource.AGENCY_DETAILS, "1");
+        verify(spaceDataService, never()).fetchDetails(eq(SpaceResource.AGENCY_DETAILS), eq("../x"));
+    }
+
+    @Test
+    void limitsLookupsInFlightPerBatch() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(spaceDataService.fetchDetails(eq(SpaceResource.LAUNCH_DETAILS), anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return SpaceDataResult.fresh(Map.of("id", invocation.getArgument(1)), Instant.now());
+        });
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add("id-" + i);
+        }
+
+        List<SpaceBatchItem> items = batchService.getDetails(SpaceResource.UPCOMING_LAUNCHES, ids);
+
+        assertEquals(10, items.size());
+        assertTrue(items.stream().allMatch(item -> item.status() == 200));
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void asyncBatchMapsFailuresPerId() {
+        when(spaceDataService.fetchDetailsAsync(SpaceResource.PROGRAM_DETAILS, "7"))
+                .thenReturn(CompletableFuture.completedFuture(SpaceDataResult.fresh(Map.of("id", 7), Instant.now())));
+        when(spaceDataService.fetchDetailsAsync(SpaceResource.PROGRAM_DETAILS, "8"))
+                .thenReturn(CompletableFuture.failedFuture(
+                        HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Throttled", null, null, null)));
+
+        List<SpaceBatchItem> items = batchService.getDetailsAsync(SpaceResource.PROGRAMS, List.of("7", "8")).join();
+
+        assertEquals(List.of(200, 429), items.stream().map(SpaceBatchItem::status).toList());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        properties.setMaxIds(2);
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.getDetails(SpaceResource.AGENCIES, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> batchService.getDetails(SpaceResource.AGENCIES, List.of("1", "2", "3")));
+        assertThrows(IllegalArgumentException.class,
+                () -> batchService.getDetails(SpaceResource.AGENCY_DETAILS, List.of("1")));
+    }
+}
@@ -0,0 +1,283 @@
+package com.codewithme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpaceDataCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private SpaceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SpaceDataCache(new SpaceCacheProperties(), meterRegistry, new ObjectMapper());
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        AtomicInteger calls = new AtomicInteger();
+
+        SpaceDataResult first = cache.get(SpaceResource.AGENCIES, "agencies?limit=20", () -> "page-" + calls.incrementAndGet());
+        SpaceDataResult second = cache.get(SpaceResource.AGENCIES, "agencies?limit=20", () -> "page-" + calls.incrementAndGet());
+
+        assertEquals("page-1", first.getBody());
+        assertEquals("page-1", second.getBody());
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("space.cache.requests")
+                .tags("resource", "agencies", "result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("space.cache.requests")
+                .tags("resource", "agencies", "result", "miss").counter().count());
+    }
+
+    @Test
+    void resultsSayHowTheCacheAnsweredAndWhatTheUpstreamReturned() {
+        SpaceDataResult loaded = cache.get(SpaceResource.AGENCIES, "agencies", () -> new UpstreamBody("v1", null, false));
+        SpaceDataResult hit = cache.get(SpaceResource.AGENCIES, "agencies", () -> "unused");
+        SpaceDataResult revalidated = cache.refresh(SpaceResource.AGENCIES, "agencies",
+                () -> new UpstreamBody(hit.getBody(), "\"u1\"", true));
+        SpaceDataResult mirrored = cache.get(SpaceResource.PROGRAMS, "programs", () -> "from mirror");
+
+        assertEquals("miss", loaded.getCacheStatus());
+        assertEquals(200, loaded.getUpstreamStatus());
+        assertEquals("hit", hit.getCacheStatus());
+        assertEquals(0, hit.getUpstreamStatus());
+        assertEquals(304, revalidated.getUpstreamStatus());
+        assertEquals("miss", mirrored.getCacheStatus());
+        assertEquals(0, mirrored.getUpstreamStatus());
+    }
+
+    @Test
+    void etagFollowsContentAndSurvivesRevalidation() {
+        SpaceDataResult first = cache.refresh(SpaceResource.AGENCIES, "agencies", () -> new UpstreamBody("v1", "\"u1\"", false));
+        SpaceDataResult sameContent = cache.refresh(SpaceResource.AGENCIES, "agencies", () -> "v1");
+        SpaceDataResult changed = cache.refresh(SpaceResource.AGENCIES, "agencies", () -> "v2");
+
+        assertTrue(first.getEtag().matches("\"[0-9a-f]{32}\""));
+        assertEquals(first.getEtag(), sameContent.getEtag());
+        assertNotEquals(first.getEtag(), changed.getEtag());
+
+        CachedSpaceData held = cache.peek("agencies");
+        cache.refresh(SpaceResource.AGENCIES, "agencies", () -> new UpstreamBody(held.getBody(), "\"u2\"", true));
+        assertSame(held.getBody(), cache.peek("agencies").getBody());
+        assertEquals(changed.getEtag(), cache.peek("agencies").getEtag());
+        assertEquals("\"u2\"", cache.peek("agencies").getUpstreamEtag());
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(SpaceResource.PROGRAMS, "programs", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertEquals("ok", cache.get(SpaceResource.PROGRAMS, "programs", () -> "ok").getBody());
+    }
+
+    @Test
+    void asyncLookupCachesCompletedLoad() {
+        AtomicInteger calls = new AtomicInteger();
+
+        SpaceDataResult first = cache.getAsync(SpaceResource.AGENCIES, "agencies?limit=20",
+                () -> CompletableFuture.completedFuture("page-" + calls.incrementAndGet())).join();
+        CompletableFuture<SpaceDataResult> second = cache.getAsync(SpaceResource.AGENCIES, "agencies?limit=20",
+                () -> CompletableFuture.completedFuture("page-" + calls.incrementAndGet()));
+
+        assertEquals("page-1", first.getBody());
+        assertTrue(second.isDone());
+        assertEquals("page-1", second.join().getBody());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void ttlCanBeOverriddenPerResource() {
+        SpaceCacheProperties properties = new SpaceCacheProperties();
+        properties.getTtl().put("agencies", Duration.ofSeconds(30));
+
+        assertEquals(Duration.ofSeconds(30), properties.ttlFor(SpaceResource.AGENCIES));
+        assertEquals(SpaceResource.PROGRAMS.getDefaultTtl(), properties.ttlFor(SpaceResource.PROGRAMS));
+    }
+
+    @Test
+    void expiredEntryIsServedWhenUpstreamFails() throws InterruptedException {
+        SpaceCacheProperties properties = new SpaceCacheProperties();
+        properties.getTtl().put("agencies", Duration.ofMillis(1));
+        properties.setStaleIfError(Duration.ofHours(1));
+        SpaceDataCache staleCache = new SpaceDataCache(properties, meterRegistry, new ObjectMapper());
+
+        staleCache.get(SpaceResource.AGENCIES, "agencies", () -> "last-good");
+        Thread.sleep(10);
+        SpaceDataResult result = staleCache.get(SpaceResource.AGENCIES, "agencies", () -> {
+            throw new IllegalStateException("503 Service Unavailable");
+        });
+
+        assertEquals("last-good", result.getBody());
+        assertTrue(result.isStale());
+        staleCache.shutdown();
+    }
+
+    @Test
+    void staleEntryIsServedImmediatelyAndRefreshedOnceInBackground() throws InterruptedException {
+        SpaceCacheProperties properties = new SpaceCacheProperties();
+        properties.getTtl().put("agencies", Duration.ofMillis(200));
+        properties.setStaleWhileRevalidate(Duration.ofHours(1));
+        SpaceDataCache staleCache = new SpaceDataCache(properties, meterRegistry, new ObjectMapper());
+        AtomicInteger refreshes = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Object> slowLoader = () -> {
+            refreshes.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v2";
+        };
+
+        staleCache.get(SpaceResource.AGENCIES, "agencies", () -> "v1");
+        Thread.sleep(250);
+        SpaceDataResult first = staleCache.get(SpaceResource.AGENCIES, "agencies", slowLoader);
+        SpaceDataResult second = staleCache.get(SpaceResource.AGENCIES, "agencies", slowLoader);
+
+        assertEquals("v1", first.getBody());
+        assertEquals("v1", second.getBody());
+        assertTrue(first.isStale());
+        assertEquals(2.0, meterRegistry.get("space.cache.requests")
+                .tags("resource", "agencies", "result", "stale").counter().count());
+
+        release.countDown();
+        for (int i = 0; i < 100 && !staleCache.isFresh("agencies"); i++) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(staleCache.isFresh("agencies"));
+        assertEquals("v2", staleCache.get(SpaceResource.AGENCIES, "agencies", () -> "unused").getBody());
+        assertEquals(1, refreshes.get());
+        staleCache.shutdown();
+    }
+
+    @Test
+    void restoredEntryIsServedHoweverOldUntilTheBackgroundRefreshReplacesIt() throws InterruptedException {
+        CachedSpaceData snapshot = new CachedSpaceData(SpaceResource.AGENCIES, "from-disk",
+                Instant.now().minus(Duration.ofDays(3)), "\"disk\"", null);
+        assertTrue(cache.restore("agencies", snapshot));
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        SpaceDataResult served = cache.get(SpaceResource.AGENCIES, "agencies", () -> {
+            refreshed.countDown();
+            return "from-upstream";
+        });
+
+        assertEquals("from-disk", served.getBody());
+        assertEquals("snapshot", served.getCacheStatus());
+        assertEquals("\"disk\"", served.getEtag());
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100 && !cache.isFresh("agencies"); i++) {
+            Thread.sleep(5);
+        }
+        assertEquals("from-upstream", cache.get(SpaceResource.AGENCIES, "agencies", () -> "unused").getBody());
+        assertFalse(cache.restore("agencies", snapshot));
+    }
+
+    @Test
+    void adoptsWhatAnotherReplicaLoadedAndKeepsItsEtag() {
+        SharedSpaceCache shared = enabledSharedCache();
+        when(shared.find("agencies")).thenReturn(
+                new CachedSpaceData(SpaceResource.AGENCIES, "v1", Instant.now(), "\"e1\"", null));
+        SpaceDataCache replica = new SpaceDataCache(new SpaceCacheProperties(), meterRegistry, new ObjectMapper(), shared);
+
+        SpaceDataResult adopted = replica.get(SpaceResource.AGENCIES, "agencies", () -> {
+            throw new AssertionError("loaded although another replica had it");
+        });
+        SpaceDataResult local = replica.get(SpaceResource.AGENCIES, "agencies", () -> "unused");
+
+        assertEquals("v1", adopted.getBody());
+        assertEquals("\"e1\"", adopted.getEtag());
+        assertEquals("shared", adopted.getCacheStatus());
+        assertEquals("hit", local.getCacheStatus());
+        verify(shared, times(1)).find("agencies");
+        verify(shared, never()).tryAcquireRefresh(any(), any());
+    }
+
+    @Test
+    void waitsForTheReplicaHoldingTheRefreshLease() {
+        SharedSpaceCache shared = enabledSharedCache();
+        when(shared.tryAcquireRefresh(SpaceResource.AGENCIES, "agencies")).thenReturn(false);
+        when(shared.awaitPublished("agencies", null)).thenReturn(
+                new CachedSpaceData(SpaceResource.AGENCIES, "v1", Instant.now(), "\"e1\"", null));
+        SpaceDataCache replica = new SpaceDataCache(new SpaceCacheProperties(), meterRegistry, new ObjectMapper(), shared);
+
+        SpaceDataResult result = replica.get(SpaceResource.AGENCIES, "agencies", () -> {
+            throw new AssertionError("loaded while another replica held the lease");
+        });
+
+        assertEquals("v1", result.getBody());
+        assertEquals("shared", result.getCacheStatus());
+        assertTrue(replica.isFresh("agencies"));
+    }
+
+    @Test
+    void publishesWhatItLoadsUnderTheSameEtagAsAnUnsharedCache() throws Exception {
+        SharedSpaceCache shared = enabledSharedCache();
+        when(shared.tryAcquireRefresh(SpaceResource.AGENCIES, "agencies")).thenReturn(true);
+        SpaceDataCache replica = new SpaceDataCache(new SpaceCacheProperties(), meterRegistry, new ObjectMapper(), shared);
+        Map<String, Object> page = Map.of("count", 1, "results", List.of(Map.of("id", 7)));
+
+        SpaceDataResult loaded = replica.get(SpaceResource.AGENCIES, "agencies", () -> page);
+
+        ArgumentCaptor<CachedSpaceData> published = ArgumentCaptor.forClass(CachedSpaceData.class);
+        ArgumentCaptor<byte[]> json = ArgumentCaptor.forClass(byte[].class);
+        verify(shared).publish(eq("agencies"), published.capture(), json.capture());
+        assertEquals(loaded.getEtag(), published.getValue().getEtag());
+        assertEquals(cache.get(SpaceResource.AGENCIES, "agencies", () -> page).getEtag(), loaded.getEtag());
+        assertEquals(page, new ObjectMapper().readValue(json.getValue(), Map.class));
+    }
+
+    @Test
+    void failedLoadGivesUpTheRefreshLease() {
+        SharedSpaceCache shared = enabledSharedCache();
+        when(shared.tryAcquireRefresh(SpaceResource.AGENCIES, "agencies")).thenReturn(true);
+        SpaceDataCache replica = new SpaceDataCache(new SpaceCacheProperties(), meterRegistry, new ObjectMapper(), shared);
+
+        assertThrows(IllegalStateException.class, () -> replica.get(SpaceResource.AGENCIES, "agencies", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        verify(shared).release("agencies");
+        verify(shared, never()).publish(any(), any(), any());
+    }
+
+    private static SharedSpaceCache enabledSharedCache() {
+        SharedSpaceCache shared = mock(SharedSpaceCache.class);
+        when(shared.isEnabled()).thenReturn(true);
+        return shared;
+    }
+}
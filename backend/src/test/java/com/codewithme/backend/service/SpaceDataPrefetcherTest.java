@@ -0,0 +1,97 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpaceDataPrefetcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SpaceDataService spaceDataService;
+    private SpacePrefetchProperties properties;
+    private SpaceDataPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spaceDataService = mock(SpaceDataService.class);
+        properties = new SpacePrefetchProperties();
+        properties.setResources(List.of("agencies"));
+        properties.setParallelism(1);
+        when(spaceDataService.refreshList(eq(SpaceResource.AGENCIES), eq(20), any())).thenAnswer(invocation -> {
+            invocation.<AtomicBoolean>getArgument(2).set(true);
+            return SpaceDataResult.fresh(Map.of("results", List.of(
+                    Map.of("id", 1), Map.of("id", 2), Map.of("id", 3), Map.of("id", 4))), Instant.now());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.shutdown();
+    }
+
+    @Test
+    void stopsWhenUpstreamBudgetIsSpent() {
+        properties.setMaxUpstreamCallsPerRun(3);
+        when(spaceDataService.prefetchDetails(eq(SpaceResource.AGENCY_DETAILS), anyString(), any())).thenAnswer(invocation -> {
+            invocation.<AtomicBoolean>getArgument(2).set(true);
+            return true;
+        });
+        prefetcher = new SpaceDataPrefetcher(spaceDataService, properties, meterRegistry);
+
+        prefetcher.prefetch();
+
+        verify(spaceDataService, times(2)).prefetchDetails(eq(SpaceResource.AGENCY_DETAILS), anyString(), any());
+        assertEquals(3.0, meterRegistry.get("space.prefetch.upstream.calls").counter().count());
+        assertEquals(1.0, meterRegistry.get("space.prefetch.budget.exhausted").counter().count());
+    }
+
+    @Test
+    void freshAndMirroredRecordsDoNotSpendBudget() {
+        properties.setMaxUpstreamCallsPerRun(2);
+        // Records 1 and 2 are already fresh, 3 comes from the mirror, 4 needs the upstream
+        when(spaceDataService.prefetchDetails(eq(SpaceResource.AGENCY_DETAILS), anyString(), any())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(1);
+            if ("4".equals(id)) {
+                invocation.<AtomicBoolean>getArgument(2).set(true);
+            }
+            return "3".equals(id) || "4".equals(id);
+        });
+        prefetcher = new SpaceDataPrefetcher(spaceDataService, properties, meterRegistry);
+
+        prefetcher.prefetch();
+
+        verify(spaceDataService, times(4)).prefetchDetails(eq(SpaceResource.AGENCY_DETAILS), anyString(), any());
+        assertEquals(2.0, meterRegistry.get("space.prefetch.upstream.calls").counter().count());
+        assertEquals(0.0, meterRegistry.get("space.prefetch.budget.exhausted").counter().count());
+    }
+
+    @Test
+    void listServedFromMirrorIsNotCountedAsUpstreamCall() {
+        properties.setPrefetchDetails(false);
+        when(spaceDataService.refreshList(eq(SpaceResource.AGENCIES), eq(20), any()))
+                .thenReturn(SpaceDataResult.fresh(Map.of("results", List.of()), Instant.now()));
+        prefetcher = new SpaceDataPrefetcher(spaceDataService, properties, meterRegistry);
+
+        prefetcher.prefetch();
+
+        verify(spaceDataService, never()).prefetchDetails(any(), anyString(), any());
+        assertEquals(0.0, meterRegistry.get("space.prefetch.upstream.calls").counter().count());
+    }
+}
@@ -0,0 +1,92 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.AgencySummary;
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceDataSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void entriesReadBackWithTheirTypesAndValidators() throws IOException {
+        Instant fetchedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        SpacePage<AgencySummary> typed = new SpacePage<>(1, null, null,
+                List.of(new AgencySummary(121, "SpaceX", "SpX", "Space Exploration Technologies")));
+        Map<String, Object> untyped = Map.of("id", 1, "name", "Falcon 9 Block 5 | Starlink");
+        Map<String, CachedSpaceData> entries = new LinkedHashMap<>();
+        entries.put("agencies?limit=100", new CachedSpaceData(SpaceResource.AGENCIES, typed, fetchedAt,
+                "\"typed\"", "W/\"upstream\""));
+        entries.put("launch/abc", new CachedSpaceData(SpaceResource.LAUNCH_DETAILS, untyped, fetchedAt, null, null));
+        Path path = dir.resolve("nested/space-snapshot.bin");
+
+        SpaceDataSnapshot.write(path, entries, objectMapper);
+        Map<String, CachedSpaceData> read = SpaceDataSnapshot.read(path, objectMapper);
+
+        assertEquals(List.of("agencies?limit=100", "launch/abc"), List.copyOf(read.keySet()));
+        CachedSpaceData page = read.get("agencies?limit=100");
+        assertEquals(typed, page.getBody());
+        assertEquals(SpaceResource.AGENCIES, page.getResource());
+        assertEquals(fetchedAt, page.getFetchedAt());
+        assertEquals("\"typed\"", page.getEtag());
+        assertEquals("W/\"upstream\"", page.getUpstreamEtag());
+        CachedSpaceData detail = read.get("launch/abc");
+        assertEquals(untyped, detail.getBody());
+        assertNull(detail.getEtag());
+        assertTrue(Files.notExists(dir.resolve("nested/space-snapshot.bin.tmp")));
+    }
+
+    @Test
+    void corruptedSnapshotIsRejected() throws IOException {
+        Path path = dir.resolve("space-snapshot.bin");
+        SpaceDataSnapshot.write(path, Map.of("programs", new CachedSpaceData(SpaceResource.PROGRAMS,
+                Map.of("count", 0), Instant.now())), objectMapper);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> SpaceDataSnapshot.read(path, objectMapper));
+    }
+
+    @Test
+    void restoresRecentEntriesIntoTheCacheAtStartup() throws IOException {
+        Path path = dir.resolve("space-snapshot.bin");
+        Map<String, CachedSpaceData> entries = new LinkedHashMap<>();
+        entries.put("agencies", new CachedSpaceData(SpaceResource.AGENCIES, "recent", Instant.now().minusSeconds(60)));
+        entries.put("programs", new CachedSpaceData(SpaceResource.PROGRAMS, "old",
+                Instant.now().minus(Duration.ofDays(2))));
+        SpaceDataSnapshot.write(path, entries, objectMapper);
+        SpaceSnapshotProperties properties = new SpaceSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setPath(path.toString());
+        SpaceDataCache cache = new SpaceDataCache(new SpaceCacheProperties(), new SimpleMeterRegistry(), objectMapper);
+
+        new SpaceDataSnapshot(properties, new SpaceUpstreamProperties(), cache, objectMapper).restore();
+
+        assertEquals("recent", cache.peek("agencies").getBody());
+        assertTrue(cache.peek("agencies").isRestored());
+        assertNull(cache.peek("programs"));
+        cache.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.LaunchSummary;
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceFieldProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SpaceFieldProjection projection = new SpaceFieldProjection(objectMapper);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compactViewKeepsWhatTheLaunchCardsRender() throws IOException {
+        Object page = fixture("launches-upcoming.json");
+
+        Map<String, Object> compact = (Map<String, Object>) projection.project(
+                SpaceResource.UPCOMING_LAUNCHES, page, null, SpaceFieldProjection.VIEW_COMPACT);
+
+        assertEquals(((Map<?, ?>) page).get("count"), compact.get("count"));
+        Map<String, Object> first = ((List<Map<String, Object>>) compact.get("results")).get(0);
+        assertEquals(Set.of("id", "name", "image", "net", "status", "mission", "launch_service_provider"),
+                first.keySet());
+        assertEquals(Set.of("name"), ((Map<?, ?>) first.get("launch_service_provider")).keySet());
+        int fullSize = objectMapper.writeValueAsBytes(page).length;
+        int compactSize = objectMapper.writeValueAsBytes(compact).length;
+        assertTrue(compactSize * 4 < fullSize, "compact " + compactSize + " bytes vs full " + fullSize);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fieldsSelectNestedPathsAndFullViewIsUntouched() throws IOException {
+        Object page = fixture("astronauts.json");
+
+        Map<String, Object> projected = (Map<String, Object>) projection.project(
+                SpaceResource.ASTRONAUTS, page, "name, agency.name,agency.abbrev,status", null);
+
+        Map<String, Object> first = ((List<Map<String, Object>>) projected.get("results")).get(0);
+        assertEquals(Set.of("name", "agency", "status"), first.keySet());
+        assertEquals(Set.of("name", "abbrev"), ((Map<?, ?>) first.get("agency")).keySet());
+        assertSame(page, projection.project(SpaceResource.ASTRONAUTS, page, null, SpaceFieldProjection.VIEW_FULL));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void projectsTypedPagesByTheirSerializedNames() {
+        SpacePage<LaunchSummary> page = new SpacePage<>(1, null, null, List.of(
+                new LaunchSummary("abc", "Falcon 9 | Starlink", null, "2025-01-01T00:00:00Z", null, null, null)));
+
+        assertSame(page, projection.project(SpaceResource.LAUNCHES, page, null, null));
+        Map<String, Object> projected = (Map<String, Object>) projection.project(SpaceResource.LAUNCHES, page, "id,net", null);
+        assertEquals(List.of(Map.of("id", "abc", "net", "2025-01-01T00:00:00Z")), projected.get("results"));
+    }
+
+    @Test
+    void rejectsMalformedSelections() {
+        Map<String, Object> page = Map.of("results", List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> projection.project(SpaceResource.AGENCIES, page, "name,../id", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> projection.project(SpaceResource.AGENCIES, page, "name,,id", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> projection.project(SpaceResource.AGENCIES, page, null, "tiny"));
+    }
+
+    private Object fixture(String name) throws IOException {
+        try (InputStream in = SpaceFieldProjectionTest.class.getResourceAsStream("/fixtures/" + name)) {
+            return objectMapper.readValue(in, Object.class);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.AgencySummary;
+import com.codewithme.dto.AstronautSummary;
+import com.codewithme.dto.LaunchSummary;
+import com.codewithme.dto.ProgramSummary;
+import com.codewithme.dto.SpacePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SpaceJsonParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SpaceJsonParser parser = new SpaceJsonParser(objectMapper);
+
+    @Test
+    void parsesLaunchPageIntoSummaries() throws IOException {
+        SpacePage<LaunchSummary> page;
+        try (InputStream body = fixture("launches-upcoming.json")) {
+            page = parser.parsePage(body, LaunchSummary.class);
+        }
+
+        assertEquals(20, page.results().size());
+        assertEquals(240, page.count());
+        assertNotNull(page.next());
+        assertNull(page.previous());
+        LaunchSummary first = page.results().get(0);
+        assertNotNull(first.id());
+        assertNotNull(first.status().name());
+        assertNotNull(first.launchServiceProvider().name());
+        assertNotNull(first.mission().name());
+    }
+
+    @Test
+    void summariesSerializeWithUpstreamFieldNames() throws IOException {
+        SpacePage<AstronautSummary> page;
+        try (InputStream body = fixture("astronauts.json")) {
+            page = parser.parsePage(body, AstronautSummary.class);
+        }
+
+        Map<?, ?> json = objectMapper.readValue(objectMapper.writeValueAsString(page.results().get(0)), Map.class);
+        assertNotNull(json.get("profile_image_thumbnail"));
+        assertNotNull(((Map<?, ?>) json.get("agency")).get("name"));
+        assertFalse(json.containsKey("bio"));
+    }
+
+    @Test
+    void convertsDecodedPages() throws IOException {
+        Map<?, ?> decoded;
+        try (InputStream body = fixture("launches-upcoming.json")) {
+            decoded = objectMapper.readValue(body, Map.class);
+        }
+
+        SpacePage<LaunchSummary> page = parser.convertPage(decoded, LaunchSummary.class);
+
+        assertEquals(20, page.results().size());
+    }
+
+    @Test
+    void parsesAgencyAndProgramPages() throws IOException {
+        SpacePage<AgencySummary> agencies;
+        SpacePage<ProgramSummary> programs;
+        try (InputStream agencyBody = fixture("agencies.json"); InputStream programBody = fixture("programs.json")) {
+            agencies = parser.parsePage(agencyBody, AgencySummary.class);
+            programs = parser.parsePage(programBody, ProgramSummary.class);
+        }
+
+        assertEquals(20, agencies.results().size());
+        AgencySummary agency = agencies.results().get(0);
+        assertNotNull(agency.name());
+        assertNotNull(agency.description());
+        assertEquals(20, programs.results().size());
+        ProgramSummary program = programs.results().get(0);
+        assertNotNull(program.name());
+        assertNotNull(program.imageUrl());
+        assertNotNull(program.startDate());
+    }
+
+    @Test
+    void detailRecordsKeepTheFullUntypedShape() throws IOException {
+        byte[] body;
+        try (InputStream in = fixture("launch-details.json")) {
+            body = in.readAllBytes();
+        }
+
+        Map<?, ?> launch = (Map<?, ?>) parser.parse(body);
+
+        Map<?, ?> rocket = (Map<?, ?>) launch.get("rocket");
+        assertNotNull(((Map<?, ?>) rocket.get("configuration")).get("name"));
+        assertNotNull(((Map<?, ?>) launch.get("pad")).get("name"));
+    }
+
+    private static InputStream fixture(String name) {
+        return SpaceJsonParserTest.class.getResourceAsStream("/fixtures/" + name);
+    }
+}
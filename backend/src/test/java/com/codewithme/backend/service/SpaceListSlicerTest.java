@@ -0,0 +1,92 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.dto.SpacePage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceListSlicerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pagesAcrossAChunkBoundaryComeFromBothChunks() {
+        SpaceDataResult first = chunk(0, 10, 25, "\"a\"", Duration.ZERO);
+        SpaceDataResult second = chunk(10, 10, 25, "\"b\"", Duration.ofSeconds(30));
+
+        SpaceDataResult slice = SpaceListSlicer.slice(List.of(first, second), 0, 8, 5);
+
+        Map<String, Object> page = (Map<String, Object>) slice.getBody();
+        assertEquals(List.of(8, 9, 10, 11, 12), ids(page.get("results")));
+        assertEquals(25L, page.get("count"));
+        assertEquals(13, SpaceListCursor.decode((String) page.get("next")));
+        assertEquals(3, SpaceListCursor.decode((String) page.get("previous")));
+        assertEquals(Duration.ofSeconds(30), slice.getStaleness());
+        assertEquals("upstream", page.get("source"), "other envelope fields are kept");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void theLastPageHasNoNextCursorAndTheFirstNoPrevious() {
+        SpaceDataResult only = chunk(0, 7, 7, "\"a\"", Duration.ZERO);
+
+        Map<String, Object> last = (Map<String, Object>) SpaceListSlicer.slice(List.of(only), 0, 5, 5).getBody();
+        Map<String, Object> first = (Map<String, Object>) SpaceListSlicer.slice(List.of(only), 0, 0, 5).getBody();
+
+        assertEquals(List.of(5, 6), ids(last.get("results")));
+        assertNull(last.get("next"));
+        assertNull(first.get("previous"));
+        assertFalse(SpaceListSlicer.hasItemsFrom(only.getBody(), 0, 10));
+        assertTrue(SpaceListSlicer.hasItemsFrom(chunk(0, 10, 25, null, Duration.ZERO).getBody(), 0, 10));
+    }
+
+    @Test
+    void typedPagesStayTypedAndEverySliceHasItsOwnEtag() {
+        SpaceDataResult typed = new SpaceDataResult(
+                new SpacePage<>(3, "https://upstream.test/?offset=3", null, List.of("x", "y", "z")),
+                NOW, Duration.ZERO, "\"t\"");
+
+        SpaceDataResult head = SpaceListSlicer.slice(List.of(typed), 0, 0, 2);
+        SpaceDataResult tail = SpaceListSlicer.slice(List.of(typed), 0, 2, 2);
+
+        assertEquals(new SpacePage<>(3, SpaceListCursor.encode(2), null, List.of("x", "y")), head.getBody());
+        assertEquals(List.of("z"), ((SpacePage<?>) tail.getBody()).results());
+        assertNotEquals(head.getEtag(), tail.getEtag());
+        assertEquals(head.getEtag(), SpaceListSlicer.slice(List.of(typed), 0, 0, 2).getEtag());
+    }
+
+    @Test
+    void cursorsRoundTripAndForgedOnesAreRejected() {
+        assertEquals(140, SpaceListCursor.decode(SpaceListCursor.encode(140)));
+        assertEquals(20, SpaceListCursor.offsetOf(null, 20));
+        assertThrows(IllegalArgumentException.class, () -> SpaceListCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> SpaceListCursor.decode(SpaceListCursor.encode(-1)));
+    }
+
+    private static SpaceDataResult chunk(int offset, int size, long count, String etag, Duration staleness) {
+        Map<String, Object> page = new HashMap<>();
+        page.put("count", count);
+        page.put("next", "https://upstream.test/?offset=" + (offset + size));
+        page.put("previous", null);
+        page.put("source", "upstream");
+        page.put("results", IntStream.range(offset, offset + size).mapToObj(id -> Map.of("id", id)).toList());
+        return new SpaceDataResult(page, NOW, staleness, etag);
+    }
+
+    private static List<Object> ids(Object results) {
+        return ((List<?>) results).stream().map(item -> (Object) ((Map<?, ?>) item).get("id")).toList();
+    }
+}
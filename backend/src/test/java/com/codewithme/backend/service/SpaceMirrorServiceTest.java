@@ -0,0 +1,164 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SpaceRecordRepository;
+import com.codewithme.backend.SpaceRecordType;
+import com.codewithme.backend.SpaceSyncStateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class SpaceMirrorServiceTest {
+    private static final String BASE_URL = "http://upstream.test";
+
+    @Autowired
+    private SpaceRecordRepository spaceRecordRepository;
+
+    @Autowired
+    private SpaceSyncStateRepository spaceSyncStateRepository;
+
+    private final Map<String, Map<String, Object>> pages = new HashMap<>();
+    private final List<String> requested = new ArrayList<>();
+    private SpaceMirrorProperties properties;
+    private SpaceMirrorService mirror;
+
+    @BeforeEach
+    void setUp() {
+        SpaceApiClient spaceApiClient = mock(SpaceApiClient.class);
+        when(spaceApiClient.getBaseUrl()).thenReturn(BASE_URL);
+        when(spaceApiClient.get(anyString(), anyString())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            requested.add(url);
+            Map<String, Object> page = pages.get(url.substring(0, url.indexOf('?')) + "#" + offsetOf(url));
+            if (page == null) {
+                throw new IllegalStateException("No stub for " + url);
+            }
+            return page;
+        });
+        properties = new SpaceMirrorProperties();
+        properties.setServeReads(true);
+        properties.setPageSize(2);
+        properties.setMaxPagesPerSync(1);
+        mirror = new SpaceMirrorService(spaceApiClient, spaceRecordRepository, spaceSyncStateRepository,
+                properties, new SimpleMeterRegistry(), new ObjectMapper());
+    }
+
+    @Test
+    void walkWithoutChangeMarkerResumesAcrossRunsAndSkipsUnchangedRecords() {
+        stubPage("/agencies/", 0, BASE_URL + "/agencies/?limit=2&offset=2", agency(3, "ISRO"), agency(1, "NASA"));
+        stubPage("/agencies/", 2, null, agency(2, "ESA"));
+
+        assertEquals(2, mirror.sync(SpaceRecordType.AGENCY));
+        assertNull(mirror.findList(SpaceResource.AGENCIES, 10), "not served before the first full walk");
+
+        assertEquals(1, mirror.sync(SpaceRecordType.AGENCY));
+        assertTrue(requested.get(0).contains("ordering=id"));
+        assertTrue(requested.get(0).contains("mode=detailed"));
+        assertEquals(BASE_URL + "/agencies/?limit=2&offset=2", requested.get(1));
+
+        // Next pass starts over; identical payloads are not rewritten, changed ones are
+        stubPage("/agencies/", 0, BASE_URL + "/agencies/?limit=2&offset=2", agency(3, "ISRO"), agency(1, "NASA (US)"));
+        assertEquals(1, mirror.sync(SpaceRecordType.AGENCY));
+        assertEquals(0, mirror.sync(SpaceRecordType.AGENCY));
+
+        Map<?, ?> page = (Map<?, ?>) mirror.findList(SpaceResource.AGENCIES, 10);
+        assertEquals(3L, page.get("count"));
+        assertEquals(List.of("ESA", "ISRO", "NASA (US)"),
+                ((List<?>) page.get("results")).stream().map(item -> ((Map<?, ?>) item).get("name")).toList());
+        assertEquals("ESA", ((Map<?, ?>) mirror.findDetails(SpaceResource.AGENCY_DETAILS, "2")).get("name"));
+    }
+
+    @Test
+    void launchesSyncFromTheHighWatermark() {
+        properties.setMaxPagesPerSync(5);
+        stubPage("/launch/", 0, null,
+                launch("a", "2024-01-01T00:00:00Z", "2020-01-01T00:00:00Z"),
+                launch("b", "2024-02-01T00:00:00Z", "2099-01-01T00:00:00Z"));
+
+        assertEquals(2, mirror.sync(SpaceRecordType.LAUNCH));
+        assertEquals(0, mirror.sync(SpaceRecordType.LAUNCH));
+
+        assertTrue(requested.get(0).contains("ordering=last_updated"));
+        assertFalse(requested.get(0).contains("last_updated__gte"));
+        assertTrue(requested.get(1).contains("last_updated__gte=2024-02-01T00:00:00Z"));
+        assertEquals(Instant.parse("2024-02-01T00:00:00Z"),
+                spaceSyncStateRepository.findById(SpaceRecordType.LAUNCH).orElseThrow().getHighWatermark());
+    }
+
+    @Test
+    void upcomingLaunchesAreServedSoonestFirst() {
+        properties.setMaxPagesPerSync(5);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        stubPage("/launch/", 0, null,
+                launch("later", "2024-01-01T00:00:00Z", now.plus(10, ChronoUnit.DAYS).toString()),
+                launch("past", "2024-01-02T00:00:00Z", now.minus(1, ChronoUnit.DAYS).toString()),
+                launch("soon", "2024-01-03T00:00:00Z", now.plus(1, ChronoUnit.DAYS).toString()));
+        mirror.sync(SpaceRecordType.LAUNCH);
+
+        Map<?, ?> upcoming = (Map<?, ?>) mirror.findList(SpaceResource.UPCOMING_LAUNCHES, 10);
+        Map<?, ?> previous = (Map<?, ?>) mirror.findList(SpaceResource.PREVIOUS_LAUNCHES, 10);
+
+        assertEquals(List.of("soon", "later"), idsOf(upcoming));
+        assertEquals(List.of("past"), idsOf(previous));
+    }
+
+    @Test
+    void readsAreNotServedWhenDisabled() {
+        stubPage("/program/", 0, null, Map.of("id", 1, "name", "Artemis"));
+        mirror.sync(SpaceRecordType.PROGRAM);
+        properties.setServeReads(false);
+
+        assertNull(mirror.findList(SpaceResource.PROGRAMS, 10));
+        assertNull(mirror.findDetails(SpaceResource.PROGRAM_DETAILS, "1"));
+        assertEquals(1, spaceRecordRepository.countByType(SpaceRecordType.PROGRAM));
+    }
+
+    @SafeVarargs
+    private void stubPage(String path, int offset, String next, Map<String, Object>... results) {
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("count", results.length);
+        page.put("next", next);
+        page.put("results", List.of(results));
+        pages.put(BASE_URL + path + "#" + offset, page);
+    }
+
+    private static String offsetOf(String url) {
+        int start = url.indexOf("offset=");
+        if (start < 0) {
+            return "0";
+        }
+        int end = url.indexOf('&', start);
+        return url.substring(start + "offset=".length(), end < 0 ? url.length() : end);
+    }
+
+    private static Map<String, Object> agency(int id, String name) {
+        return Map.of("id", id, "name", name, "total_launch_count", 10);
+    }
+
+    private static Map<String, Object> launch(String id, String lastUpdated, String net) {
+        return Map.of("id", id, "name", "Launch " + id, "last_updated", lastUpdated, "net", net);
+    }
+
+    private static List<Object> idsOf(Map<?, ?> page) {
+        return ((List<?>) page.get("results")).stream().<Object>map(item -> ((Map<?, ?>) item).get("id")).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.service.SpaceResponseBodyCache.EncodedBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceResponseBodyCacheTest {
+
+    private SpaceResponseCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SpaceResponseCacheProperties();
+        properties.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void serializesOncePerPayloadAndRepresentation() {
+        SpaceResponseBodyCache cache = newCache();
+        AtomicInteger serialized = new AtomicInteger();
+        Map<String, Object> body = Map.of("name", "x".repeat(4000));
+
+        EncodedBody first = cache.get("\"e1\"", "compact", () -> {
+            serialized.incrementAndGet();
+            return body;
+        });
+        EncodedBody second = cache.get("\"e1\"", "compact", () -> {
+            serialized.incrementAndGet();
+            return body;
+        });
+        cache.get("\"e1\"", "full", () -> {
+            serialized.incrementAndGet();
+            return body;
+        });
+
+        assertSame(first, second);
+        assertEquals(2, serialized.get());
+        assertNotNull(first.gzip());
+        assertTrue(first.gzip().length < first.identity().length / 10);
+        assertEquals(cache.weightedSize(), meterRegistry.get("space.response.cache.bytes").gauge().value());
+    }
+
+    @Test
+    void smallBodiesHaveNoGzipVariant() {
+        EncodedBody encoded = newCache().get("\"e1\"", "details", () -> Map.of("id", 1));
+
+        assertEquals("{\"id\":1}", new String(encoded.identity()));
+        assertNull(encoded.gzip());
+    }
+
+    @Test
+    void skipsWhenDisabledWithoutEtagOrTooLarge() {
+        properties.setMaxEntrySize(DataSize.ofBytes(100));
+        SpaceResponseBodyCache cache = newCache();
+
+        assertNull(cache.get("\"e1\"", "details", () -> Map.of("name", "x".repeat(200))));
+        assertNull(cache.get(null, "details", () -> Map.of("id", 1)));
+        properties.setEnabled(false);
+        assertNull(cache.get("\"e2\"", "details", () -> Map.of("id", 1)));
+        assertEquals(0, cache.weightedSize());
+    }
+
+    private SpaceResponseBodyCache newCache() {
+        return new SpaceResponseBodyCache(properties, new ObjectMapper(), meterRegistry);
+    }
+}
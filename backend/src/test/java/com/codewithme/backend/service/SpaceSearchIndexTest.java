@@ -0,0 +1,117 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.SpaceRecordRepository;
+import com.codewithme.backend.SpaceRecordType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class SpaceSearchIndexTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpaceDataCache cache;
+    private SpaceSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new SpaceDataCache(new SpaceCacheProperties(), meterRegistry, objectMapper);
+        index = new SpaceSearchIndex(new SpaceSearchProperties(), cache, mock(SpaceMirrorService.class),
+                mock(SpaceRecordRepository.class), objectMapper, meterRegistry);
+        Object launches = fixture("launches-upcoming.json");
+        Object astronauts = fixture("astronauts.json");
+        // Indexed as a side effect of caching, the way list pages reach the index in production
+        cache.get(SpaceResource.UPCOMING_LAUNCHES, "launches", () -> launches);
+        cache.get(SpaceResource.ASTRONAUTS, "astronauts", () -> astronauts);
+    }
+
+    @Test
+    void fullTextMatchesTheLastWordAsAPrefixAndOrdersLaunchesByNet() {
+        Map<String, Object> page = index.search(SpaceRecordType.LAUNCH, query("falcon 9 bl", null), 0, 20);
+
+        assertEquals(7, page.get("count"));
+        List<Map<String, Object>> results = results(page);
+        assertEquals("Falcon 9 Block 5 | Mission 001", results.get(0).get("name"));
+        assertEquals("2026-11-08T20:40:00Z", results.get(0).get("net"));
+        assertEquals(0, index.search(SpaceRecordType.LAUNCH, query("falcon 9 bl", "ISRO"), 0, 20).get("count"));
+        assertEquals(List.of("Falcon 9 Block 5 | Mission 001"), names(index.search(SpaceRecordType.LAUNCH,
+                query("falcon", "national aeronautics and space administration"), 0, 20)));
+    }
+
+    @Test
+    void filtersAndDateRangesCombine() {
+        SpaceSearchIndex.Query retiredChineseAtNasa = SpaceSearchIndex.Query.of(
+                null, null, "NASA", "retired", "chinese", null, null);
+        SpaceSearchIndex.Query bornInJuly = SpaceSearchIndex.Query.of(
+                null, "astronaut", null, null, null, "1975-07-01", "1975-07-31");
+
+        assertEquals(List.of("Astronaut 18", "Astronaut 6"),
+                names(index.search(SpaceRecordType.ASTRONAUT, retiredChineseAtNasa, 0, 20)));
+        assertEquals(List.of("Astronaut 11", "Astronaut 18", "Astronaut 4", "Astronaut 9"),
+                names(index.search(SpaceRecordType.ASTRONAUT, bornInJuly, 0, 20)));
+        assertThrows(IllegalArgumentException.class, () -> SpaceSearchIndex.Query.of(
+                null, null, null, null, null, "last tuesday", null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshedRecordsReplaceTheirOldPostings() {
+        Map<String, Object> launch = new LinkedHashMap<>(results(
+                index.search(SpaceRecordType.LAUNCH, query("mission 001", null), 0, 1)).get(0));
+        launch.put("status", Map.of("id", 3, "name", "Launch Successful", "abbrev", "Success"));
+
+        cache.refresh(SpaceResource.LAUNCH_DETAILS, "launch-001", () -> launch);
+
+        SpaceSearchIndex.Query go = SpaceSearchIndex.Query.of("mission 001", null, null, "go", null, null, null);
+        SpaceSearchIndex.Query success = SpaceSearchIndex.Query.of("mission 001", null, null, "success", null, null, null);
+        assertEquals(0, index.search(SpaceRecordType.LAUNCH, go, 0, 20).get("count"));
+        assertEquals(1, index.search(SpaceRecordType.LAUNCH, success, 0, 20).get("count"));
+        assertEquals(20, index.size(SpaceRecordType.LAUNCH));
+    }
+
+    @Test
+    void pagesCarryCursors() {
+        SpaceSearchIndex.Query byPrefix = SpaceSearchIndex.Query.of(null, "Astronaut 1", null, null, null, null, null);
+
+        Map<String, Object> first = index.search(SpaceRecordType.ASTRONAUT, byPrefix, 0, 4);
+        Map<String, Object> second = index.search(SpaceRecordType.ASTRONAUT, byPrefix,
+                SpaceListCursor.decode((String) first.get("next")), 4);
+
+        assertEquals(11, first.get("count"));
+        assertEquals(List.of("Astronaut 1", "Astronaut 10", "Astronaut 11", "Astronaut 12"), names(first));
+        assertNull(first.get("previous"));
+        assertEquals(List.of("Astronaut 13", "Astronaut 14", "Astronaut 15", "Astronaut 16"), names(second));
+        assertEquals(0, SpaceListCursor.decode((String) second.get("previous")));
+    }
+
+    private static SpaceSearchIndex.Query query(String text, String agency) {
+        return SpaceSearchIndex.Query.of(text, null, agency, null, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> results(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("results");
+    }
+
+    private static List<Object> names(Map<String, Object> page) {
+        return results(page).stream().map(item -> item.get("name")).toList();
+    }
+
+    private Object fixture(String name) throws IOException {
+        try (InputStream in = SpaceSearchIndexTest.class.getResourceAsStream("/fixtures/" + name)) {
+            return objectMapper.readValue(in, Object.class);
+        }
+    }
+}
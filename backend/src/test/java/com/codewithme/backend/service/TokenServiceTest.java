@@ -0,0 +1,113 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.JwtAuthenticationFilter;
+import com.codewithme.dto.AuthTokens;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private final AuthTokenProperties properties = properties();
+    private final TokenService tokenService = at(NOW);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void issuedTokensVerifyForTheirOwnKindOnly() {
+        AuthTokens tokens = tokenService.issue("ada@example.com");
+
+        TokenService.Claims claims = tokenService.verify(tokens.accessToken(), TokenService.ACCESS);
+        assertEquals("ada@example.com", claims.subject());
+        assertEquals(NOW.plus(Duration.ofMinutes(15)), claims.expiresAt());
+        assertEquals(900, tokens.expiresIn());
+        assertEquals("ada@example.com", tokenService.verify(tokens.refreshToken(), TokenService.REFRESH).subject());
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(tokens.refreshToken(), TokenService.ACCESS));
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(tokens.accessToken(), TokenService.REFRESH));
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String token = tokenService.issue("ada@example.com").accessToken();
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("ada@", "eve@").getBytes());
+
+        assertThrows(InvalidTokenException.class,
+                () -> tokenService.verify(parts[0] + "." + forgedPayload + "." + parts[2], TokenService.ACCESS));
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify("not-a-token", TokenService.ACCESS));
+
+        AuthTokenProperties otherKey = properties();
+        otherKey.setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+        TokenService other = new TokenService(otherKey, new ObjectMapper(), Clock.fixed(NOW, ZoneOffset.UTC));
+        assertThrows(InvalidTokenException.class, () -> other.verify(token, TokenService.ACCESS));
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        String token = tokenService.issue("ada@example.com").accessToken();
+
+        at(NOW.plus(Duration.ofMinutes(14))).verify(token, TokenService.ACCESS);
+        assertThrows(InvalidTokenException.class,
+                () -> at(NOW.plus(Duration.ofMinutes(15))).verify(token, TokenService.ACCESS));
+    }
+
+    @Test
+    void filterAuthenticatesValidBearerTokensAndIgnoresOthers() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenService);
+        AuthTokens tokens = tokenService.issue("ada@example.com");
+
+        assertEquals("ada@example.com", authenticationFor(filter, "Bearer " + tokens.accessToken()).getName());
+        assertNull(authenticationFor(filter, "Bearer " + tokens.refreshToken()));
+        assertNull(authenticationFor(filter, "Bearer garbage"));
+        assertNull(authenticationFor(filter, null));
+    }
+
+    private Authentication authenticationFor(JwtAuthenticationFilter filter, String authorization) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        });
+        return seen.get();
+    }
+
+    private TokenService at(Instant instant) {
+        return new TokenService(properties, new ObjectMapper(), Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private static AuthTokenProperties properties() {
+        AuthTokenProperties properties = new AuthTokenProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+        return properties;
+    }
+}
@@ -0,0 +1,152 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private SpaceUpstreamProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new SpaceUpstreamProperties();
+    }
+
+    @Test
+    void spendsTheBurstThenRefillsAtTheConfiguredRate() {
+        properties.setRequestsPerMinute(60);
+        properties.setBurst(2);
+        UpstreamGuard guard = newGuard();
+
+        guard.call(() -> "a");
+        guard.call(() -> "b");
+        UpstreamUnavailableException rejected = assertThrows(UpstreamUnavailableException.class,
+                () -> guard.call(() -> "c"));
+
+        assertEquals(Duration.ofSeconds(1), rejected.getRetryAfter());
+        advance(Duration.ofSeconds(1));
+        assertEquals("d", guard.call(() -> "d"));
+        assertEquals(1.0, meterRegistry.get("space.upstream.rejected").tag("reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void offlineModeRejectsEveryCall() {
+        properties.setOffline(true);
+        UpstreamGuard guard = newGuard();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call(calls::incrementAndGet));
+        assertTrue(guard.callAsync(() -> CompletableFuture.completedFuture(calls.incrementAndGet()))
+                .isCompletedExceptionally());
+
+        assertEquals(0, calls.get());
+        assertEquals(2.0, meterRegistry.get("space.upstream.rejected").tag("reason", "offline").counter().count());
+    }
+
+    @Test
+    void tooManyRequestsPausesCallsAndHalvesTheRate() {
+        properties.setRequestsPerMinute(60);
+        UpstreamGuard guard = newGuard();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+
+        assertThrows(HttpClientErrorException.class, () -> guard.call(() -> {
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+        }));
+
+        assertEquals(30, assertThrows(UpstreamUnavailableException.class, () -> guard.call(() -> "x"))
+                .getRetryAfter().getSeconds());
+        assertEquals(30.0, guard.currentRequestsPerMinute());
+        advance(Duration.ofSeconds(31));
+        guard.call(() -> "x");
+        assertEquals(33.0, guard.currentRequestsPerMinute());
+        assertEquals(1.0, meterRegistry.get("space.upstream.throttled").counter().count());
+    }
+
+    @Test
+    void retryAfterFallsBackToTheSpaceDevsThrottleMessage() {
+        UpstreamGuard guard = newGuard();
+        byte[] body = "{\"detail\":\"Request was throttled. Expected available in 3287 seconds.\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(HttpClientErrorException.class, () -> guard.call(() -> {
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, body, null);
+        }));
+
+        assertEquals(3287, assertThrows(UpstreamUnavailableException.class, () -> guard.call(() -> "x"))
+                .getRetryAfter().getSeconds());
+    }
+
+    @Test
+    void breakerOpensOnFailuresAndClosesAfterATrialCall() {
+        properties.setRequestsPerMinute(0);
+        properties.setCircuitMinimumCalls(4);
+        properties.setCircuitFailureRatePercent(50);
+        UpstreamGuard guard = newGuard();
+
+        guard.call(() -> "ok");
+        assertThrows(HttpClientErrorException.class, () -> guard.call(() -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        }));
+        fail(guard);
+        assertEquals(UpstreamGuard.CircuitState.CLOSED, guard.getState());
+        fail(guard);
+
+        assertEquals(UpstreamGuard.CircuitState.OPEN, guard.getState());
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(UpstreamUnavailableException.class, () -> guard.call(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+
+        advance(properties.getCircuitOpenDuration());
+        guard.call(() -> "trial");
+        assertEquals(UpstreamGuard.CircuitState.CLOSED, guard.getState());
+        assertEquals(1.0, meterRegistry.get("space.upstream.rejected").tag("reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void failedTrialCallReopensTheBreaker() {
+        properties.setRequestsPerMinute(0);
+        properties.setCircuitMinimumCalls(1);
+        UpstreamGuard guard = newGuard();
+        fail(guard);
+        advance(properties.getCircuitOpenDuration());
+
+        fail(guard);
+
+        assertEquals(UpstreamGuard.CircuitState.OPEN, guard.getState());
+        assertEquals(2.0, meterRegistry.get("space.upstream.circuit.state").gauge().value());
+    }
+
+    private UpstreamGuard newGuard() {
+        return new UpstreamGuard(properties, meterRegistry, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+
+    private static void fail(UpstreamGuard guard) {
+        assertThrows(HttpServerErrorException.class, () -> guard.call(() -> {
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+        }));
+    }
+}
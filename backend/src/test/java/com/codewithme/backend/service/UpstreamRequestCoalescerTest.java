@@ -0,0 +1,134 @@
+package com.codewithme.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UpstreamRequestCoalescerTest {
+
+    @Test
+    void concurrentCallersShareOneUpstreamCall() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamRequestCoalescer coalescer = new UpstreamRequestCoalescer(meterRegistry);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("launch/1", () -> {
+                upstreamCalls.incrementAndGet();
+                awaitQuietly(release);
+                return "launch-1";
+            })));
+            // Give the leader time to register before the followers arrive
+            while (meterRegistry.get("space.upstream.inflight").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.execute("launch/1", () -> {
+                    upstreamCalls.incrementAndGet();
+                    return "launch-1";
+                })));
+            }
+            while (meterRegistry.get("space.upstream.coalesced").counter().count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("launch-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, upstreamCalls.get());
+            assertEquals(callers - 1, meterRegistry.get("space.upstream.coalesced").counter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsRethrownAndKeyIsReleased() {
+        UpstreamRequestCoalescer coalescer = new UpstreamRequestCoalescer(new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("agencies", () -> {
+            throw new IllegalStateException("429 Too Many Requests");
+        }));
+        assertEquals("ok", coalescer.execute("agencies", () -> "ok"));
+    }
+
+    @Test
+    void errorInLeaderIsPassedToWaitingFollowers() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamRequestCoalescer coalescer = new UpstreamRequestCoalescer(meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.execute("astronauts", () -> {
+                awaitQuietly(release);
+                throw new OutOfMemoryError("simulated");
+            }));
+            while (meterRegistry.get("space.upstream.inflight").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+            Future<String> follower = executor.submit(() -> coalescer.execute("astronauts", () -> "unused"));
+            while (meterRegistry.get("space.upstream.coalesced").counter().count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(OutOfMemoryError.class, leaderFailure.getCause());
+            assertInstanceOf(OutOfMemoryError.class, followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncCallersShareOneFutureUntilItCompletes() {
+        UpstreamRequestCoalescer coalescer = new UpstreamRequestCoalescer(new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.executeAsync("launch/1", () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = coalescer.executeAsync("launch/1", () -> {
+            upstreamCalls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        upstream.complete("launch-1");
+
+        assertEquals("launch-1", first.join());
+        assertEquals("launch-1", second.join());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("next", coalescer.executeAsync("launch/1",
+                () -> CompletableFuture.completedFuture("next")).join());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.codewithme.backend.service;
+
+import com.codewithme.backend.UserCredentials;
+import com.codewithme.backend.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserLookupCache cache =
+            new UserLookupCache(userRepository, new UserCacheProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void foundAndMissingUsersAreBothLookedUpOnce() {
+        UserCredentials ada = new UserCredentials("ada@example.com", "hash");
+        when(userRepository.findCredentialsByEmail("ada@example.com")).thenReturn(ada);
+
+        assertEquals(Optional.of(ada), cache.findCredentials("ada@example.com"));
+        assertEquals(Optional.of(ada), cache.findCredentials("ada@example.com"));
+        assertEquals(Optional.empty(), cache.findCredentials("nobody@example.com"));
+        assertEquals(Optional.empty(), cache.findCredentials("nobody@example.com"));
+
+        verify(userRepository, times(1)).findCredentialsByEmail("ada@example.com");
+        verify(userRepository, times(1)).findCredentialsByEmail("nobody@example.com");
+    }
+
+    @Test
+    void registeringDropsACachedMiss() {
+        when(userRepository.findCredentialsByEmail("ada@example.com"))
+                .thenReturn(null, new UserCredentials("ada@example.com", "hash"));
+        when(userRepository.insertIfAbsent("ada@example.com", "hash")).thenReturn(1);
+
+        assertTrue(cache.findCredentials("ada@example.com").isEmpty());
+        assertTrue(cache.register("ada@example.com", "hash"));
+        assertTrue(cache.findCredentials("ada@example.com").isPresent());
+    }
+
+    @Test
+    void aTakenEmailIsReportedByTheInsertItself() {
+        when(userRepository.insertIfAbsent("ada@example.com", "hash")).thenReturn(0);
+
+        assertFalse(cache.register("ada@example.com", "hash"));
+        verify(userRepository, never()).findByEmail("ada@example.com");
+        verify(userRepository, never()).existsByEmail("ada@example.com");
+    }
+
+    @Test
+    void existenceUsesTheCacheWhenItCanAndTheProjectionOtherwise() {
+        when(userRepository.existsByEmail("bob@example.com")).thenReturn(true);
+        when(userRepository.findCredentialsByEmail("ada@example.com")).thenReturn(null);
+
+        assertTrue(cache.exists("bob@example.com"));
+        cache.findCredentials("ada@example.com");
+        assertFalse(cache.exists("ada@example.com"));
+
+        verify(userRepository, never()).existsByEmail("ada@example.com");
+        verify(userRepository, never()).findCredentialsByEmail("bob@example.com");
+    }
+}